@@ -2,12 +2,12 @@ package decorators;
 
 import toppings.DiTuan;
 import toppings.GanViec;
-import toppings.WorkBasic;
+import toppings.WorkCompositionCache;
 
 public class DoiTruong extends Employee {
 
 	public DoiTruong() {
-		super(new GanViec(new DiTuan(new WorkBasic())));
+		super(WorkCompositionCache.SHARED.of(DiTuan.class, GanViec.class));
 		// TODO Auto-generated constructor stub
 	}
 
@@ -3,7 +3,7 @@ package decorators;
 import toppings.Work;
 
 public abstract class Employee {
-	protected Work work;
+	protected final Work work;
 
 	protected Employee(Work work) {
 		super();
@@ -1,12 +1,12 @@
 package decorators;
 
 import toppings.QuanLyCongViec;
-import toppings.WorkBasic;
+import toppings.WorkCompositionCache;
 
 public class GiamDoc extends Employee {
 
 	public GiamDoc() {
-		super(new QuanLyCongViec(new WorkBasic()));
+		super(WorkCompositionCache.SHARED.of(QuanLyCongViec.class));
 		// TODO Auto-generated constructor stub
 	}
 
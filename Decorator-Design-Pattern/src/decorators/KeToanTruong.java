@@ -1,12 +1,12 @@
 package decorators;
 
 import toppings.QuanLyTaiChinh;
-import toppings.WorkBasic;
+import toppings.WorkCompositionCache;
 
 public class KeToanTruong extends Employee {
 
 	public KeToanTruong() {
-		super(new QuanLyTaiChinh(new WorkBasic()));
+		super(WorkCompositionCache.SHARED.of(QuanLyTaiChinh.class));
 		// TODO Auto-generated constructor stub
 	}
 
@@ -2,12 +2,12 @@ package decorators;
 
 import toppings.PhaTra;
 import toppings.PheDuyetGiayTo;
-import toppings.WorkBasic;
+import toppings.WorkCompositionCache;
 
 public class NhanVienVP extends Employee {
 
 	public NhanVienVP() {
-		super(new PheDuyetGiayTo(new PhaTra(new WorkBasic())));
+		super(WorkCompositionCache.SHARED.of(PhaTra.class, PheDuyetGiayTo.class));
 		// TODO Auto-generated constructor stub
 	}
 
@@ -1,12 +1,12 @@
 package decorators;
 
 import toppings.VanHanhMayMoc;
-import toppings.WorkBasic;
+import toppings.WorkCompositionCache;
 
 public class NhanVienXuong extends Employee {
 
 	public NhanVienXuong() {
-		super(new VanHanhMayMoc(new WorkBasic()));
+		super(WorkCompositionCache.SHARED.of(VanHanhMayMoc.class));
 		// TODO Auto-generated constructor stub
 	}
 
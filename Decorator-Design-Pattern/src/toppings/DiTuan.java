@@ -8,8 +8,7 @@ public class DiTuan extends WorkDecorator {
 	}
 	
 	@Override
-	public void doWork() {
-		workDecorated.doWork();
+	public void doOwnWork() {
 		 System.out.println("Doi truong: Di tuan tra.");
 	}
 
@@ -8,8 +8,7 @@ public class GanViec extends WorkDecorator {
 	}
 	
 	@Override
-	public void doWork() {
-		workDecorated.doWork();
+	public void doOwnWork() {
 		 System.out.println("Doi truong: Gan viec cho nhan vien.");
 	}
 
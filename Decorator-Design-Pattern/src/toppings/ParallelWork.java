@@ -0,0 +1,123 @@
+package toppings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Chay chuoi decorator theo tung chang: cac topping lien tiep co
+ * {@link WorkDecorator#isIndependent()} duoc chay dong thoi, topping binh
+ * thuong (co thu tu) cho tat ca buoc truoc no xong moi chay. Do tre cua ca
+ * chuoi chi con bang duong gang (critical path).
+ */
+public final class ParallelWork implements Work {
+	private static volatile ExecutorService defaultExecutor;
+
+	private final Runnable[][] stages;
+	private final ExecutorService executor;
+
+	private ParallelWork(Runnable[][] stages, ExecutorService executor) {
+		this.stages = stages;
+		this.executor = executor;
+	}
+
+	public static ParallelWork compile(Work work) {
+		return compile(work, defaultExecutor());
+	}
+
+	public static ParallelWork compile(Work work, ExecutorService executor) {
+		List<Work> layers = WorkChain.layers(work);
+		List<Runnable[]> stages = new ArrayList<>();
+		List<Runnable> independent = new ArrayList<>();
+		stages.add(new Runnable[] { layers.get(0)::doWork });
+		for (int i = 1; i < layers.size(); i++) {
+			WorkDecorator topping = (WorkDecorator) layers.get(i);
+			if (topping.isIndependent()) {
+				independent.add(topping::doOwnWork);
+			} else {
+				if (!independent.isEmpty()) {
+					stages.add(independent.toArray(new Runnable[0]));
+					independent.clear();
+				}
+				stages.add(new Runnable[] { topping::doOwnWork });
+			}
+		}
+		if (!independent.isEmpty()) {
+			stages.add(independent.toArray(new Runnable[0]));
+		}
+		return new ParallelWork(stages.toArray(new Runnable[0][]), executor);
+	}
+
+	@Override
+	public void doWork() {
+		for (Runnable[] stage : stages) {
+			if (stage.length == 1) {
+				stage[0].run();
+			} else {
+				runConcurrently(stage);
+			}
+		}
+	}
+
+	public int stageCount() {
+		return stages.length;
+	}
+
+	private void runConcurrently(Runnable[] stage) {
+		List<Future<?>> futures = new ArrayList<>(stage.length - 1);
+		for (int i = 1; i < stage.length; i++) {
+			futures.add(executor.submit(stage[i]));
+		}
+		stage[0].run();
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for toppings", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * Dung virtual thread khi JVM ho tro (Java 21+); project dang bien dich
+	 * voi Java 17 nen tim qua reflection va quay ve cached thread pool.
+	 */
+	static ExecutorService defaultExecutor() {
+		ExecutorService executor = defaultExecutor;
+		if (executor == null) {
+			synchronized (ParallelWork.class) {
+				executor = defaultExecutor;
+				if (executor == null) {
+					executor = createDefaultExecutor();
+					defaultExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	private static ExecutorService createDefaultExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool(task -> {
+				Thread thread = new Thread(task, "parallel-work");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+}
@@ -8,8 +8,7 @@ public class PhaTra extends WorkDecorator {
 	}
 	
 	@Override
-	public void doWork() {
-		workDecorated.doWork();
+	public void doOwnWork() {
 		System.out.println("Nhan vien VP: Pha tra.");
 	}
 
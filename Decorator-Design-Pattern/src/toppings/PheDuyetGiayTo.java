@@ -8,9 +8,13 @@ public class PheDuyetGiayTo extends WorkDecorator {
 	}
 	
 	@Override
-	public void doWork() {
-		workDecorated.doWork();
+	public void doOwnWork() {
 		System.out.println("Nhan vien VP: Phe duyet giay to.");
 	}
 
+	@Override
+	public boolean isIndependent() {
+		return true;
+	}
+
 }
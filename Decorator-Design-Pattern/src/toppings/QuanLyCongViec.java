@@ -8,9 +8,13 @@ public class QuanLyCongViec extends WorkDecorator {
 	}
 	
 	@Override
-	public void doWork() {
-		workDecorated.doWork();
+	public void doOwnWork() {
 		System.out.println("Giam doc: Quan ly cong ty, dua ra quyet dinh chien luoc.");
 	}
 
+	@Override
+	public boolean isIndependent() {
+		return true;
+	}
+
 }
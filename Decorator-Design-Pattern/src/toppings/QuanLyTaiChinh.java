@@ -8,8 +8,7 @@ public class QuanLyTaiChinh extends WorkDecorator {
 	}
 	
 	@Override
-	public void doWork() {
-		workDecorated.doWork();
+	public void doOwnWork() {
 		System.out.println("Ke toan truong: Quan ly tai chinh.");
 	}
 
@@ -8,9 +8,13 @@ public class VanHanhMayMoc extends WorkDecorator {
 	}
 	
 	@Override
-	public void doWork() {
-		workDecorated.doWork();
+	public void doOwnWork() {
 		 System.out.println("Nhan vien Xuong: Van hanh may moc.");
 	}
 
+	@Override
+	public boolean isIndependent() {
+		return true;
+	}
+
 }
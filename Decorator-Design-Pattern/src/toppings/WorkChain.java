@@ -0,0 +1,98 @@
+package toppings;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lam phang mot chuoi decorator thanh mang cac buoc chay trong mot vong lap,
+ * thay vi de moi WorkDecorator goi de quy xuong workDecorated. Thu tu thuc
+ * hien giong het doWork() long nhau: cong viec co ban truoc, roi tung topping
+ * tu trong ra ngoai.
+ */
+public final class WorkChain implements Work {
+	private static final MethodType VOID = MethodType.methodType(void.class);
+
+	private final Runnable[] steps;
+
+	private WorkChain(Runnable[] steps) {
+		this.steps = steps;
+	}
+
+	public static WorkChain compile(Work work) {
+		List<Work> layers = layers(work);
+		Runnable[] steps = new Runnable[layers.size()];
+		for (int i = 0; i < steps.length; i++) {
+			Work layer = layers.get(i);
+			steps[i] = i > 0 ? ((WorkDecorator) layer)::doOwnWork : layer::doWork;
+		}
+		return new WorkChain(steps);
+	}
+
+	/** Bien dich chuoi decorator thanh mot MethodHandle kieu ()void duy nhat. */
+	public static MethodHandle compileToMethodHandle(Work work) {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		try {
+			List<Work> layers = layers(work);
+			MethodHandle chain = lookup.findVirtual(Work.class, "doWork", VOID).bindTo(layers.get(0));
+			MethodHandle ownWork = lookup.findVirtual(WorkDecorator.class, "doOwnWork", VOID);
+			for (int i = 1; i < layers.size(); i++) {
+				chain = MethodHandles.foldArguments(ownWork.bindTo(layers.get(i)), chain);
+			}
+			return chain;
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot compile work chain", e);
+		}
+	}
+
+	public static Work compileToHandleWork(Work work) {
+		MethodHandle chain = compileToMethodHandle(work);
+		return () -> {
+			try {
+				chain.invokeExact();
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+
+	@Override
+	public void doWork() {
+		for (Runnable step : steps) {
+			step.run();
+		}
+	}
+
+	public int size() {
+		return steps.length;
+	}
+
+	/**
+	 * Tach chuoi thanh [cong viec co ban, topping trong cung, ..., topping ngoai
+	 * cung]. Decorator tu override doWork() duoc giu nguyen nhu mot khoi, vi
+	 * khong biet no goi workDecorated theo thu tu nao.
+	 */
+	static List<Work> layers(Work work) {
+		List<Work> layers = new ArrayList<>();
+		while (work instanceof WorkDecorator && !overridesDoWork(work.getClass())) {
+			layers.add(work);
+			work = ((WorkDecorator) work).getWorkDecorated();
+		}
+		layers.add(work);
+		Collections.reverse(layers);
+		return layers;
+	}
+
+	private static boolean overridesDoWork(Class<?> type) {
+		try {
+			return type.getMethod("doWork").getDeclaringClass() != WorkDecorator.class;
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package toppings;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Cache cac chuoi decorator da dung san. Mot chuoi duoc mo ta bang danh sach
+ * kieu topping theo thu tu boc (trong ra ngoai); cac nhan vien cung vai tro va
+ * cung toppings dung chung mot instance Work bat bien thay vi moi nguoi tu
+ * tao mot chuoi moi. Khi vuot {@code maxSize}, chuoi duoc them vao som nhat
+ * bi loai khoi cache.
+ */
+public class WorkCompositionCache {
+	public static final WorkCompositionCache SHARED = new WorkCompositionCache(256);
+
+	private static final Work BASIC = new WorkBasic();
+
+	private final int maxSize;
+	private final ConcurrentHashMap<List<Class<? extends WorkDecorator>>, Work> cache = new ConcurrentHashMap<>();
+	private final Queue<List<Class<? extends WorkDecorator>>> insertionOrder = new ConcurrentLinkedQueue<>();
+
+	public WorkCompositionCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+		}
+		this.maxSize = maxSize;
+	}
+
+	@SafeVarargs
+	public final Work of(Class<? extends WorkDecorator>... toppings) {
+		// Chep tung phan tu thay vi Arrays.asList/List.of: khong de mang varargs generic thoat ra ngoai
+		// (-Xlint:varargs), va null van duoc canonicalize bao loi nhu cac loi goi khac
+		List<Class<? extends WorkDecorator>> list = new ArrayList<>(toppings.length);
+		for (Class<? extends WorkDecorator> topping : toppings) {
+			list.add(topping);
+		}
+		return of(list);
+	}
+
+	public Work of(List<Class<? extends WorkDecorator>> toppings) {
+		List<Class<? extends WorkDecorator>> key = canonicalize(toppings);
+		Work work = cache.get(key);
+		if (work != null) {
+			return work;
+		}
+		work = cache.computeIfAbsent(key, k -> {
+			insertionOrder.add(k);
+			return build(k);
+		});
+		evict();
+		return work;
+	}
+
+	public int size() {
+		return cache.size();
+	}
+
+	public void clear() {
+		cache.clear();
+		insertionOrder.clear();
+	}
+
+	/** Bo cac topping lap lai (giu lan xuat hien dau tien) de cung mot to hop chi co mot khoa. */
+	static List<Class<? extends WorkDecorator>> canonicalize(List<Class<? extends WorkDecorator>> toppings) {
+		LinkedHashSet<Class<? extends WorkDecorator>> unique = new LinkedHashSet<>();
+		for (Class<? extends WorkDecorator> topping : toppings) {
+			if (topping == null) {
+				throw new IllegalArgumentException("Topping type must not be null");
+			}
+			unique.add(topping);
+		}
+		return List.copyOf(new ArrayList<>(unique));
+	}
+
+	private static Work build(List<Class<? extends WorkDecorator>> toppings) {
+		Work work = BASIC;
+		for (Class<? extends WorkDecorator> topping : toppings) {
+			try {
+				work = topping.getConstructor(Work.class).newInstance(work);
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalArgumentException("Cannot create topping " + topping.getName(), e);
+			}
+		}
+		return work;
+	}
+
+	private void evict() {
+		while (cache.size() > maxSize) {
+			List<Class<? extends WorkDecorator>> oldest = insertionOrder.poll();
+			if (oldest == null) {
+				return;
+			}
+			cache.remove(oldest);
+		}
+	}
+}
@@ -1,16 +1,29 @@
 package toppings;
 
 public class WorkDecorator implements Work {
-	 protected Work workDecorated;
+	 protected final Work workDecorated;
 
 	    public WorkDecorator(Work workDecorated) {
 	        this.workDecorated = workDecorated;
 	    }
 
+	public Work getWorkDecorated() {
+		return workDecorated;
+	}
+
 	@Override
 	public void doWork() {
 		workDecorated.doWork();
-		
+		doOwnWork();
+	}
+
+	// Phan viec rieng cua topping, khong goi xuong workDecorated
+	public void doOwnWork() {
+	}
+
+	// true neu doOwnWork() khong phu thuoc ket qua cua cac topping ben trong
+	public boolean isIndependent() {
+		return false;
 	}
 
 }
@@ -0,0 +1,126 @@
+package contexts;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import fsm.StateMachine;
+import states.WorkState;
+
+/**
+ * EmployeeContext dung chung giua nhieu thread: doc khong khoa (volatile),
+ * moi lan chuyen trang thai la mot compare-and-set tren VarHandle. Voi state
+ * machine, context chi giu id (int) cua trang thai, nen fire() khong phai tim
+ * id tu doi tuong WorkState.
+ */
+public class ConcurrentEmployeeContext {
+	private static final VarHandle STATE;
+	private static final VarHandle STATE_ID;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			STATE = lookup.findVarHandle(ConcurrentEmployeeContext.class, "state", WorkState.class);
+			STATE_ID = lookup.findVarHandle(ConcurrentEmployeeContext.class, "stateId", int.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final StateMachine machine;
+	// Chi dung khi khong co state machine
+	private volatile WorkState state;
+	private volatile int stateId;
+
+	public ConcurrentEmployeeContext() {
+		this.machine = null;
+	}
+
+	public ConcurrentEmployeeContext(StateMachine machine) {
+		this.machine = machine;
+		this.stateId = machine.initialState();
+	}
+
+	public WorkState getState() {
+		return machine == null ? state : machine.state(stateId);
+	}
+
+	public void setState(WorkState state) {
+		if (machine == null) {
+			this.state = state;
+			return;
+		}
+		int to = requireState(state);
+		int previous = (int) STATE_ID.getAndSet(this, to);
+		machine.runActions(previous, to);
+	}
+
+	/**
+	 * Chi chuyen sang {@code to} neu trang thai hien tai dung la {@code from}.
+	 * Voi state machine, bang chuyen trang thai phai co mot event di tu
+	 * {@code from} toi {@code to}; exit/entry action chay sau khi CAS thanh cong.
+	 */
+	public boolean transition(WorkState from, WorkState to) {
+		if (machine == null) {
+			return STATE.compareAndSet(this, from, to);
+		}
+		int fromId = requireState(from);
+		int toId = requireState(to);
+		if (!hasEdge(fromId, toId)) {
+			throw new IllegalArgumentException("No transition from " + machine.stateName(fromId) + " to "
+					+ machine.stateName(toId));
+		}
+		if (!STATE_ID.compareAndSet(this, fromId, toId)) {
+			return false;
+		}
+		machine.runActions(fromId, toId);
+		return true;
+	}
+
+	/**
+	 * Chuyen trang thai theo bang cua state machine. Entry/exit action chi chay
+	 * mot lan, sau khi compare-and-set thanh cong.
+	 */
+	public boolean fire(int event) {
+		if (machine == null) {
+			throw new IllegalStateException("ConcurrentEmployeeContext has no state machine");
+		}
+		while (true) {
+			int from = stateId;
+			int to = machine.next(from, event);
+			if (to == StateMachine.NO_TRANSITION) {
+				return false;
+			}
+			if (STATE_ID.compareAndSet(this, from, to)) {
+				machine.runActions(from, to);
+				return true;
+			}
+		}
+	}
+
+	private int requireState(WorkState state) {
+		int id = machine.stateOf(state);
+		if (id == StateMachine.NO_TRANSITION) {
+			throw new IllegalArgumentException("WorkState is not part of the state machine");
+		}
+		return id;
+	}
+
+	private boolean hasEdge(int from, int to) {
+		for (int event = 0; event < machine.eventCount(); event++) {
+			if (machine.next(from, event) == to) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void applyState() {
+		WorkState current = getState();
+		if (current != null) {
+			current.doWork();
+		} else {
+			throw new IllegalStateException("ConcurrentEmployeeContext has no state");
+		}
+	}
+
+}
@@ -1,17 +1,55 @@
 package contexts;
 
+import fsm.StateMachine;
 import states.WorkState;
 
 public class EmployeeContext {
 	private WorkState state;
+	private StateMachine machine;
+	private int stateId;
 
+	public EmployeeContext() {
+	}
+
+	public EmployeeContext(StateMachine machine) {
+		this.machine = machine;
+		this.stateId = machine.initialState();
+		this.state = machine.state(stateId);
+	}
+
+	// Voi state machine: bo qua bang chuyen trang thai nhung van chay exit/entry action
 	public void setState(WorkState state) {
+		if (machine != null) {
+			int id = machine.stateOf(state);
+			if (id == StateMachine.NO_TRANSITION) {
+				throw new IllegalArgumentException("WorkState is not part of the state machine");
+			}
+			machine.runActions(stateId, id);
+			this.stateId = id;
+			this.state = machine.state(id);
+			return;
+		}
 		this.state = state;
 	}
 
+	public void fire(int event) {
+		if (machine == null) {
+			throw new IllegalStateException("EmployeeContext has no state machine");
+		}
+		stateId = machine.fire(stateId, event);
+		state = machine.state(stateId);
+	}
+
 	public void applyState() {
-		this.state.doWork();
+		if (state != null) {
+			this.state.doWork();
+		} else {
+			throw new IllegalStateException("EmployeeContext has no state");
+		}
+	}
+
+	public WorkState getState() {
+		return state;
 	}
-	
 
 }
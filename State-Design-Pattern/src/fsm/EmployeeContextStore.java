@@ -0,0 +1,66 @@
+package fsm;
+
+import java.util.Arrays;
+
+/**
+ * Luu trang thai cua nhieu EmployeeContext trong mot mang byte thay vi mot
+ * object cho moi nhan vien; moi context chi ton 1 byte.
+ */
+public class EmployeeContextStore {
+	private final StateMachine machine;
+	private final byte[] states;
+
+	public EmployeeContextStore(StateMachine machine, int capacity) {
+		if (machine.stateCount() > Byte.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many states for a byte store: " + machine.stateCount());
+		}
+		this.machine = machine;
+		this.states = new byte[capacity];
+		Arrays.fill(states, (byte) machine.initialState());
+	}
+
+	public int fire(int context, int event) {
+		int next = machine.fire(states[context], event);
+		states[context] = (byte) next;
+		return next;
+	}
+
+	public void applyState(int context) {
+		machine.state(states[context]).doWork();
+	}
+
+	public int stateOf(int context) {
+		return states[context];
+	}
+
+	public void setState(int context, int state) {
+		if (state < 0 || state >= machine.stateCount()) {
+			throw new IllegalArgumentException("Unknown state id: " + state);
+		}
+		states[context] = (byte) state;
+	}
+
+	public byte[] toByteArray() {
+		return states.clone();
+	}
+
+	public void restore(byte[] snapshot) {
+		if (snapshot.length != states.length) {
+			throw new IllegalArgumentException("Snapshot size " + snapshot.length + " does not match store size " + states.length);
+		}
+		for (byte state : snapshot) {
+			if (state < 0 || state >= machine.stateCount()) {
+				throw new IllegalArgumentException("Unknown state id in snapshot: " + state);
+			}
+		}
+		System.arraycopy(snapshot, 0, states, 0, states.length);
+	}
+
+	public int size() {
+		return states.length;
+	}
+
+	public StateMachine getMachine() {
+		return machine;
+	}
+}
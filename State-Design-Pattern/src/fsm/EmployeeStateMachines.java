@@ -0,0 +1,39 @@
+package fsm;
+
+import states.ChuaPhanCongState;
+import states.DoiTruongState;
+import states.GiamDocState;
+import states.KeToanTruongState;
+import states.NhanVienVPState;
+import states.NhanVienXuongState;
+
+public final class EmployeeStateMachines {
+	public static final StateMachine ROLES = StateMachine.builder()
+			.state("ChuaPhanCong", new ChuaPhanCongState())
+			.state("DoiTruong", new DoiTruongState())
+			.state("GiamDoc", new GiamDocState())
+			.state("NhanVienVP", new NhanVienVPState())
+			.state("NhanVienXuong", new NhanVienXuongState())
+			.state("KeToanTruong", new KeToanTruongState())
+			.initial("ChuaPhanCong")
+			.event("chonDoiTruong")
+			.event("chonGiamDoc")
+			.event("chonNhanVienVP")
+			.event("chonNhanVienXuong")
+			.event("chonKeToanTruong")
+			.transitionFromAny("chonDoiTruong", "DoiTruong")
+			.transitionFromAny("chonGiamDoc", "GiamDoc")
+			.transitionFromAny("chonNhanVienVP", "NhanVienVP")
+			.transitionFromAny("chonNhanVienXuong", "NhanVienXuong")
+			.transitionFromAny("chonKeToanTruong", "KeToanTruong")
+			.build();
+
+	public static final int CHON_DOI_TRUONG = ROLES.eventId("chonDoiTruong");
+	public static final int CHON_GIAM_DOC = ROLES.eventId("chonGiamDoc");
+	public static final int CHON_NHAN_VIEN_VP = ROLES.eventId("chonNhanVienVP");
+	public static final int CHON_NHAN_VIEN_XUONG = ROLES.eventId("chonNhanVienXuong");
+	public static final int CHON_KE_TOAN_TRUONG = ROLES.eventId("chonKeToanTruong");
+
+	private EmployeeStateMachines() {
+	}
+}
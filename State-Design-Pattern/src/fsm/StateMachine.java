@@ -0,0 +1,219 @@
+package fsm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import states.WorkState;
+
+/**
+ * Bang chuyen trang thai da bien dich: states va events duoc khai bao mot lan
+ * qua {@link Builder}, sau do moi lan {@link #fire(int, int)} chi la mot phep
+ * tra bang int[][] va khong cap phat bo nho.
+ */
+public final class StateMachine {
+	public static final int NO_TRANSITION = -1;
+
+	private final String[] stateNames;
+	private final WorkState[] states;
+	private final String[] eventNames;
+	private final int[][] transitions;
+	private final Runnable[] entryActions;
+	private final Runnable[] exitActions;
+	private final int initialState;
+
+	private StateMachine(String[] stateNames, WorkState[] states, String[] eventNames, int[][] transitions,
+			Runnable[] entryActions, Runnable[] exitActions, int initialState) {
+		this.stateNames = stateNames;
+		this.states = states;
+		this.eventNames = eventNames;
+		this.transitions = transitions;
+		this.entryActions = entryActions;
+		this.exitActions = exitActions;
+		this.initialState = initialState;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/** Trang thai ke tiep, hoac {@link #NO_TRANSITION}; khong chay entry/exit action. */
+	public int next(int state, int event) {
+		return transitions[state][event];
+	}
+
+	/** Chuyen trang thai va chay exit/entry action; tra ve trang thai cu neu event khong hop le. */
+	public int fire(int state, int event) {
+		int next = transitions[state][event];
+		if (next == NO_TRANSITION) {
+			return state;
+		}
+		runActions(state, next);
+		return next;
+	}
+
+	public void runActions(int from, int to) {
+		if (from == to) {
+			return;
+		}
+		Runnable exit = exitActions[from];
+		if (exit != null) {
+			exit.run();
+		}
+		Runnable entry = entryActions[to];
+		if (entry != null) {
+			entry.run();
+		}
+	}
+
+	public WorkState state(int state) {
+		return states[state];
+	}
+
+	/** Id cua state; neu khong phai instance da khai bao thi so theo class (vd. {@code new DoiTruongState()}). */
+	public int stateOf(WorkState state) {
+		for (int i = 0; i < states.length; i++) {
+			if (states[i] == state) {
+				return i;
+			}
+		}
+		if (state != null) {
+			for (int i = 0; i < states.length; i++) {
+				if (states[i].getClass() == state.getClass()) {
+					return i;
+				}
+			}
+		}
+		return NO_TRANSITION;
+	}
+
+	public int stateId(String name) {
+		return indexOf(stateNames, name, "state");
+	}
+
+	public int eventId(String name) {
+		return indexOf(eventNames, name, "event");
+	}
+
+	public String stateName(int state) {
+		return stateNames[state];
+	}
+
+	public String eventName(int event) {
+		return eventNames[event];
+	}
+
+	public int stateCount() {
+		return states.length;
+	}
+
+	public int eventCount() {
+		return eventNames.length;
+	}
+
+	public int initialState() {
+		return initialState;
+	}
+
+	private static int indexOf(String[] names, String name, String kind) {
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equals(name)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Unknown " + kind + ": " + name);
+	}
+
+	public static final class Builder {
+		private final List<String> stateNames = new ArrayList<>();
+		private final List<WorkState> states = new ArrayList<>();
+		private final List<String> eventNames = new ArrayList<>();
+		private final List<String[]> transitions = new ArrayList<>();
+		private final List<Object[]> entryActions = new ArrayList<>();
+		private final List<Object[]> exitActions = new ArrayList<>();
+		private String initialState;
+
+		private Builder() {
+		}
+
+		public Builder state(String name, WorkState state) {
+			if (stateNames.contains(name)) {
+				throw new IllegalArgumentException("Duplicate state: " + name);
+			}
+			stateNames.add(name);
+			states.add(state);
+			return this;
+		}
+
+		public Builder event(String name) {
+			if (eventNames.contains(name)) {
+				throw new IllegalArgumentException("Duplicate event: " + name);
+			}
+			eventNames.add(name);
+			return this;
+		}
+
+		public Builder initial(String state) {
+			this.initialState = state;
+			return this;
+		}
+
+		public Builder transition(String from, String event, String to) {
+			transitions.add(new String[] { from, event, to });
+			return this;
+		}
+
+		/** Event nay dua moi trang thai ve {@code to}; transition khai bao rieng van duoc uu tien. */
+		public Builder transitionFromAny(String event, String to) {
+			transitions.add(0, new String[] { null, event, to });
+			return this;
+		}
+
+		public Builder onEntry(String state, Runnable action) {
+			entryActions.add(new Object[] { state, action });
+			return this;
+		}
+
+		public Builder onExit(String state, Runnable action) {
+			exitActions.add(new Object[] { state, action });
+			return this;
+		}
+
+		public StateMachine build() {
+			if (states.isEmpty()) {
+				throw new IllegalStateException("StateMachine has no states");
+			}
+			String[] stateArray = stateNames.toArray(new String[0]);
+			String[] eventArray = eventNames.toArray(new String[0]);
+
+			int[][] table = new int[stateArray.length][eventArray.length];
+			for (int[] row : table) {
+				Arrays.fill(row, NO_TRANSITION);
+			}
+			for (String[] t : transitions) {
+				int event = indexOf(eventArray, t[1], "event");
+				int to = indexOf(stateArray, t[2], "state");
+				if (t[0] == null) {
+					for (int[] row : table) {
+						row[event] = to;
+					}
+				} else {
+					table[indexOf(stateArray, t[0], "state")][event] = to;
+				}
+			}
+
+			Runnable[] entry = new Runnable[stateArray.length];
+			for (Object[] a : entryActions) {
+				entry[indexOf(stateArray, (String) a[0], "state")] = (Runnable) a[1];
+			}
+			Runnable[] exit = new Runnable[stateArray.length];
+			for (Object[] a : exitActions) {
+				exit[indexOf(stateArray, (String) a[0], "state")] = (Runnable) a[1];
+			}
+
+			int initial = initialState == null ? 0 : indexOf(stateArray, initialState, "state");
+			return new StateMachine(stateArray, states.toArray(new WorkState[0]), eventArray, table, entry, exit,
+					initial);
+		}
+	}
+}
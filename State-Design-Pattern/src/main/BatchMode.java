@@ -0,0 +1,27 @@
+package main;
+
+import java.io.IOException;
+
+import commands.BatchRunner;
+import contexts.EmployeeContext;
+import fsm.EmployeeStateMachines;
+
+/**
+ * Chay mot file lenh (cac so 0-5 giong menu) khong can tuong tac:
+ * java main.Main --batch input.txt [output.txt]
+ */
+public class BatchMode {
+
+	public static void run(String input, String output) throws IOException {
+		// Lenh 1-5 ung voi events[0..4]
+		int[] events = { EmployeeStateMachines.CHON_DOI_TRUONG, EmployeeStateMachines.CHON_GIAM_DOC,
+				EmployeeStateMachines.CHON_NHAN_VIEN_VP, EmployeeStateMachines.CHON_NHAN_VIEN_XUONG,
+				EmployeeStateMachines.CHON_KE_TOAN_TRUONG };
+		EmployeeContext nhanVien = new EmployeeContext(EmployeeStateMachines.ROLES);
+
+		BatchRunner.run(input, output, events.length, choice -> {
+			nhanVien.fire(events[choice - 1]);
+			nhanVien.applyState();
+		}, "Lua chon khong hop le! Vui long nhap lai.");
+	}
+}
@@ -0,0 +1,105 @@
+package main;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+import contexts.ConcurrentEmployeeContext;
+import contexts.EmployeeContext;
+import fsm.StateMachine;
+
+/**
+ * Do thong luong khi nhieu thread cung fire() tren mot context dung chung va
+ * tren context rieng cua tung thread.
+ *
+ * java main.ContentionBenchmark [threads] [seconds]
+ */
+public class ContentionBenchmark {
+	private static final StateMachine MACHINE = StateMachine.builder()
+			.state("A", () -> {
+			})
+			.state("B", () -> {
+			})
+			.event("toA")
+			.event("toB")
+			.transitionFromAny("toA", "A")
+			.transitionFromAny("toB", "B")
+			.build();
+
+	public static void main(String[] args) throws InterruptedException {
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		ConcurrentEmployeeContext shared = new ConcurrentEmployeeContext(MACHINE);
+		EmployeeContext sharedLocked = new EmployeeContext(MACHINE);
+
+		report("cas, shared context", threads, run(threads, seconds, t -> shared::fire));
+		report("synchronized, shared context", threads, run(threads, seconds, t -> event -> {
+			synchronized (sharedLocked) {
+				sharedLocked.fire(event);
+			}
+		}));
+		report("cas, context per thread", threads, run(threads, seconds, t -> {
+			ConcurrentEmployeeContext own = new PaddedContext(MACHINE);
+			return own::fire;
+		}));
+		report("cas, shared context, 1 writer + readers", threads, run(threads, seconds, t -> t == 0
+				? shared::fire
+				: event -> shared.getState()));
+	}
+
+	private static long run(int threads, int seconds, Worker worker) throws InterruptedException {
+		LongAdder ops = new LongAdder();
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] pool = new Thread[threads];
+		// Chi tinh deadline khi moi thread da san sang, de thoi gian tao thread khong bi do vao
+		long[] deadline = new long[1];
+		for (int t = 0; t < threads; t++) {
+			EventSink sink = worker.create(t);
+			pool[t] = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				long count = 0;
+				int event = 0;
+				long end = deadline[0];
+				while ((count & 1023) != 0 || System.nanoTime() < end) {
+					sink.fire(event);
+					event ^= 1;
+					count++;
+				}
+				ops.add(count);
+			});
+			pool[t].start();
+		}
+		deadline[0] = System.nanoTime() + seconds * 1_000_000_000L;
+		start.countDown();
+		for (Thread thread : pool) {
+			thread.join();
+		}
+		return ops.sum() / seconds;
+	}
+
+	private static void report(String name, int threads, long opsPerSecond) {
+		System.out.printf("%-40s threads=%-3d %,15d ops/s%n", name, threads, opsPerSecond);
+	}
+
+	// Context nho (~24 byte) tao lien tiep se nam chung cache line; dem 128 byte de do dung "khong chia se"
+	@SuppressWarnings("unused")
+	private static final class PaddedContext extends ConcurrentEmployeeContext {
+		long p00, p01, p02, p03, p04, p05, p06, p07, p08, p09, p10, p11, p12, p13, p14, p15;
+
+		PaddedContext(StateMachine machine) {
+			super(machine);
+		}
+	}
+
+	private interface EventSink {
+		void fire(int event);
+	}
+
+	private interface Worker {
+		EventSink create(int thread);
+	}
+}
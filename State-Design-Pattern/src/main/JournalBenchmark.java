@@ -0,0 +1,69 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import fsm.EmployeeContextStore;
+import fsm.EmployeeStateMachines;
+import persistence.JournaledContextStore;
+
+/**
+ * Do chi phi ghi nhat ky moi lan chuyen trang thai (so voi store khong ghi
+ * log) va thoi gian khoi phuc tu snapshot + log.
+ *
+ * java main.JournalBenchmark [contexts] [transitions] [commitEvery] [snapshotEvery]
+ */
+public class JournalBenchmark {
+	public static void main(String[] args) throws IOException {
+		int contexts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+		int transitions = args.length > 1 ? Integer.parseInt(args[1]) : 20_000_000;
+		int commitEvery = args.length > 2 ? Integer.parseInt(args[2]) : 4096;
+		long snapshotEvery = args.length > 3 ? Long.parseLong(args[3]) : 8_000_000;
+		int events = EmployeeStateMachines.ROLES.eventCount();
+
+		Path dir = Files.createTempDirectory("journal-benchmark");
+		try {
+			EmployeeContextStore plain = new EmployeeContextStore(EmployeeStateMachines.ROLES, contexts);
+			long start = System.nanoTime();
+			for (int i = 0; i < transitions; i++) {
+				plain.fire(context(i, contexts), i % events);
+			}
+			report("in-memory fire", start, transitions);
+
+			try (JournaledContextStore journaled = JournaledContextStore.open(EmployeeStateMachines.ROLES, contexts,
+					dir, commitEvery, snapshotEvery)) {
+				start = System.nanoTime();
+				for (int i = 0; i < transitions; i++) {
+					journaled.fire(context(i, contexts), i % events);
+				}
+				report("journaled fire", start, transitions);
+			}
+
+			start = System.nanoTime();
+			try (JournaledContextStore recovered = JournaledContextStore.open(EmployeeStateMachines.ROLES, contexts,
+					dir, commitEvery, snapshotEvery)) {
+				System.out.printf("%-20s %,d contexts in %.1f ms%n", "recovery", recovered.getStore().size(),
+						(System.nanoTime() - start) / 1e6);
+			}
+		} finally {
+			try (Stream<Path> files = Files.list(dir)) {
+				for (Path file : (Iterable<Path>) files::iterator) {
+					Files.delete(file);
+				}
+			}
+			Files.delete(dir);
+		}
+	}
+
+	// Rai deu cac context de khong chi ghi vao vai dong cache
+	private static int context(int i, int contexts) {
+		return (int) ((i * 7919L) % contexts);
+	}
+
+	private static void report(String name, long start, int transitions) {
+		double nanos = System.nanoTime() - start;
+		System.out.printf("%-20s %,d transitions, %.1f ns/transition%n", name, transitions, nanos / transitions);
+	}
+}
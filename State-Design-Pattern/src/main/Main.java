@@ -1,18 +1,19 @@
 package main;
 
+import java.io.IOException;
 import java.util.Scanner;
 
 import contexts.EmployeeContext;
-import states.DoiTruongState;
-import states.GiamDocState;
-import states.KeToanTruongState;
-import states.NhanVienVPState;
-import states.NhanVienXuongState;
+import fsm.EmployeeStateMachines;
 
 public class Main {
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException {
+		if (args.length >= 2 && args[0].equals("--batch")) {
+			BatchMode.run(args[1], args.length >= 3 ? args[2] : null);
+			return;
+		}
 		 Scanner scanner = new Scanner(System.in);
-	        EmployeeContext nhanVien = new EmployeeContext();
+	        EmployeeContext nhanVien = new EmployeeContext(EmployeeStateMachines.ROLES);
 	        boolean running = true;
 
 	        while (running) {
@@ -30,19 +31,19 @@ public class Main {
 
 	            switch (choice) {
 	                case 1:
-	                    nhanVien.setState(new DoiTruongState());
+	                    nhanVien.fire(EmployeeStateMachines.CHON_DOI_TRUONG);
 	                    break;
 	                case 2:
-	                    nhanVien.setState(new GiamDocState());
+	                    nhanVien.fire(EmployeeStateMachines.CHON_GIAM_DOC);
 	                    break;
 	                case 3:
-	                    nhanVien.setState(new NhanVienVPState());
+	                    nhanVien.fire(EmployeeStateMachines.CHON_NHAN_VIEN_VP);
 	                    break;
 	                case 4:
-	                    nhanVien.setState(new NhanVienXuongState());
+	                    nhanVien.fire(EmployeeStateMachines.CHON_NHAN_VIEN_XUONG);
 	                    break;
 	                case 5:
-	                    nhanVien.setState(new KeToanTruongState());
+	                    nhanVien.fire(EmployeeStateMachines.CHON_KE_TOAN_TRUONG);
 	                    break;
 	                case 0:
 	                    running = false;
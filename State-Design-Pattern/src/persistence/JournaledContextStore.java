@@ -0,0 +1,191 @@
+package persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import fsm.EmployeeContextStore;
+import fsm.StateMachine;
+
+/**
+ * EmployeeContextStore co ghi nhat ky: moi lan chuyen trang thai duoc append
+ * vao TransitionLog, log duoc commit theo lo {@code commitEvery} ban ghi
+ * (hoac khi ban ghi chua commit cu nhat da cho qua {@code commitDelayMillis},
+ * de store dang ranh khong giu ban ghi trong bo dem mai), va
+ * cu {@code snapshotEvery} ban ghi thi chup mot snapshot. Sau moi snapshot,
+ * log chuyen sang segment moi va segment cu (da nam trong snapshot) bi xoa,
+ * nen ca dung luong log lan thoi gian replay khi khoi dong lai deu co gioi han.
+ */
+public class JournaledContextStore implements Closeable {
+	private static final String SEGMENT_PREFIX = "transitions-";
+	private static final String SEGMENT_SUFFIX = ".log";
+	public static final long DEFAULT_COMMIT_DELAY_MILLIS = 100;
+
+	private final Path dir;
+	private final EmployeeContextStore store;
+	private final SnapshotStore snapshots;
+	private final int commitEvery;
+	private final long snapshotEvery;
+	private final List<Path> coveredSegments;
+	private final long commitDelayNanos;
+	private final ScheduledExecutorService committer;
+	private TransitionLog log;
+	private int uncommitted;
+	private long oldestUncommitted;
+	private long lastSnapshot;
+
+	private JournaledContextStore(Path dir, EmployeeContextStore store, TransitionLog log, SnapshotStore snapshots,
+			int commitEvery, long snapshotEvery, long commitDelayMillis, long lastSnapshot,
+			List<Path> coveredSegments) {
+		this.dir = dir;
+		this.store = store;
+		this.log = log;
+		this.snapshots = snapshots;
+		this.commitEvery = commitEvery;
+		this.snapshotEvery = snapshotEvery;
+		this.lastSnapshot = lastSnapshot;
+		this.coveredSegments = coveredSegments;
+		this.commitDelayNanos = TimeUnit.MILLISECONDS.toNanos(commitDelayMillis);
+		this.committer = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "journal-commit");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// Kiem tra moi nua chu ky, nen ban ghi khong nam trong bo dem qua khoang 1.5 x commitDelayMillis
+		long period = Math.max(1, commitDelayMillis / 2);
+		committer.scheduleWithFixedDelay(this::commitIfStale, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	public static JournaledContextStore open(StateMachine machine, int capacity, Path dir, int commitEvery,
+			long snapshotEvery) throws IOException {
+		return open(machine, capacity, dir, commitEvery, snapshotEvery, DEFAULT_COMMIT_DELAY_MILLIS);
+	}
+
+	/** Mo (hoac khoi phuc) store trong thu muc {@code dir}: nap snapshot roi replay cac segment con lai. */
+	public static JournaledContextStore open(StateMachine machine, int capacity, Path dir, int commitEvery,
+			long snapshotEvery, long commitDelayMillis) throws IOException {
+		Files.createDirectories(dir);
+		EmployeeContextStore store = new EmployeeContextStore(machine, capacity);
+		SnapshotStore snapshots = new SnapshotStore(dir.resolve("contexts.snapshot"));
+		long from = snapshots.exists() ? snapshots.read(store) : 0;
+
+		// Segment cu co the con lai neu lan truoc dung giua luc xoay log; replay tat ca theo thu tu
+		List<Long> bases = segmentBases(dir);
+		List<Path> older = new ArrayList<>();
+		TransitionLog log = null;
+		for (int i = 0; i < bases.size(); i++) {
+			if (log != null) {
+				older.add(log.getFile());
+				log.close();
+			}
+			log = new TransitionLog(segment(dir, bases.get(i)), bases.get(i));
+			log.replay(from, (context, fromState, toState, event, time) -> store.setState(context, toState));
+		}
+		if (log == null) {
+			log = new TransitionLog(segment(dir, from), from);
+		}
+		if (from > log.size()) {
+			log.close();
+			throw new IOException("Snapshot is ahead of the transition log (" + from + " > " + log.size() + ")");
+		}
+		return new JournaledContextStore(dir, store, log, snapshots, commitEvery, snapshotEvery, commitDelayMillis, from,
+				older);
+	}
+
+	public synchronized int fire(int context, int event) throws IOException {
+		int from = store.stateOf(context);
+		int to = store.fire(context, event);
+		if (to != from) {
+			long sequence = log.append(context, from, to, event);
+			if (uncommitted++ == 0) {
+				oldestUncommitted = System.nanoTime();
+			}
+			if (uncommitted >= commitEvery) {
+				commit();
+			}
+			if (sequence + 1 - lastSnapshot >= snapshotEvery) {
+				snapshot();
+			}
+		}
+		return to;
+	}
+
+	public synchronized void commit() throws IOException {
+		log.commit();
+		uncommitted = 0;
+	}
+
+	/** Chup snapshot, mo segment moi bat dau tu vi tri snapshot, roi xoa cac segment da duoc snapshot bao trum. */
+	public synchronized void snapshot() throws IOException {
+		commit();
+		long position = log.size();
+		snapshots.write(store, position);
+		lastSnapshot = position;
+
+		coveredSegments.add(log.getFile());
+		log.close();
+		log = new TransitionLog(segment(dir, position), position);
+		for (Path covered : coveredSegments) {
+			if (!covered.equals(log.getFile())) {
+				Files.deleteIfExists(covered);
+			}
+		}
+		coveredSegments.clear();
+	}
+
+	public EmployeeContextStore getStore() {
+		return store;
+	}
+
+	public synchronized TransitionLog getLog() {
+		return log;
+	}
+
+	@Override
+	public void close() throws IOException {
+		committer.shutdown();
+		try {
+			committer.awaitTermination(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (this) {
+			commit();
+			log.close();
+		}
+	}
+
+	private synchronized void commitIfStale() {
+		if (uncommitted > 0 && System.nanoTime() - oldestUncommitted >= commitDelayNanos) {
+			try {
+				commit();
+			} catch (IOException e) {
+				// fire()/commit() ke tiep se gap lai loi va nem ra cho ben goi
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private static Path segment(Path dir, long base) {
+		return dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, base, SEGMENT_SUFFIX));
+	}
+
+	private static List<Long> segmentBases(Path dir) throws IOException {
+		List<Long> bases = new ArrayList<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				bases.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+			}
+		}
+		bases.sort(null);
+		return bases;
+	}
+}
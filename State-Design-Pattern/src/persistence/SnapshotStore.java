@@ -0,0 +1,77 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import fsm.EmployeeContextStore;
+
+/**
+ * Snapshot gon cua toan bo EmployeeContextStore (1 byte moi context) kem vi
+ * tri trong TransitionLog tai thoi diem chup, de khi khoi phuc chi can replay
+ * phan log phia sau.
+ */
+public class SnapshotStore {
+	private static final int MAGIC = 0x45435331; // "ECS1"
+	private static final int HEADER_SIZE = 16;
+
+	private final Path file;
+
+	public SnapshotStore(Path file) {
+		this.file = file;
+	}
+
+	public void write(EmployeeContextStore store, long logPosition) throws IOException {
+		byte[] states = store.toByteArray();
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+				.putInt(MAGIC)
+				.putLong(logPosition)
+				.putInt(states.length);
+		header.flip();
+
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer[] buffers = { header, ByteBuffer.wrap(states) };
+			while (buffers[1].hasRemaining()) {
+				channel.write(buffers);
+			}
+			channel.force(true);
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	public boolean exists() {
+		return Files.exists(file);
+	}
+
+	/** Nap snapshot vao store va tra ve vi tri log can replay tiep. */
+	public long read(EmployeeContextStore store) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			readFully(channel, header);
+			header.flip();
+			if (header.getInt() != MAGIC) {
+				throw new IOException("Not an EmployeeContextStore snapshot: " + file);
+			}
+			long logPosition = header.getLong();
+			int size = header.getInt();
+			ByteBuffer states = ByteBuffer.allocate(size);
+			readFully(channel, states);
+			store.restore(states.array());
+			return logPosition;
+		}
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				throw new IOException("Snapshot is truncated");
+			}
+		}
+	}
+}
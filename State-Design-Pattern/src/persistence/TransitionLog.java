@@ -0,0 +1,128 @@
+package persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Mot doan (segment) nhat ky chuyen trang thai chi ghi them (append-only).
+ * Moi ban ghi co kich thuoc co dinh {@link #RECORD_SIZE} byte: context, from,
+ * to, event, thoi diem. Ban ghi duoc gom trong bo dem va chi ghi/force xuong
+ * dia khi {@link #commit()} (group commit), nen chi phi moi lan append chi la
+ * vai lenh put vao bo dem. So thu tu ban ghi bat dau tu {@code base}, nen cac
+ * segment noi tiep nhau co chung mot day so thu tu.
+ */
+public class TransitionLog implements Closeable {
+	public static final int RECORD_SIZE = 16;
+
+	private static final int BUFFER_RECORDS = 4096;
+
+	private final Path file;
+	private final long base;
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * BUFFER_RECORDS);
+	private long written;
+
+	public TransitionLog(Path file) throws IOException {
+		this(file, 0);
+	}
+
+	public TransitionLog(Path file, long base) throws IOException {
+		this.file = file;
+		this.base = base;
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		// Bo ban ghi cuoi bi ghi do dang neu lan truoc dung dot ngot
+		long size = channel.size();
+		long complete = size - size % RECORD_SIZE;
+		if (complete != size) {
+			channel.truncate(complete);
+		}
+		channel.position(complete);
+		this.written = complete / RECORD_SIZE;
+	}
+
+	/** Tra ve so thu tu cua ban ghi vua them. */
+	public synchronized long append(int context, int from, int to, int event) throws IOException {
+		if (!buffer.hasRemaining()) {
+			flushBuffer();
+		}
+		buffer.putInt(context)
+				.put((byte) from)
+				.put((byte) to)
+				.putShort((short) event)
+				.putLong(System.currentTimeMillis());
+		return base + written + buffer.position() / RECORD_SIZE - 1;
+	}
+
+	public synchronized void commit() throws IOException {
+		flushBuffer();
+		channel.force(false);
+	}
+
+	/** So thu tu ke tiep, tuc {@code base} cong so ban ghi da append (ke ca trong bo dem). */
+	public synchronized long size() {
+		return base + written + buffer.position() / RECORD_SIZE;
+	}
+
+	public long getBase() {
+		return base;
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	/** Doc lai cac ban ghi da ghi xuong file, bat dau tu so thu tu {@code fromRecord}. */
+	public void replay(long fromRecord, TransitionHandler handler) throws IOException {
+		long end;
+		synchronized (this) {
+			end = written * RECORD_SIZE;
+		}
+		ByteBuffer read = ByteBuffer.allocateDirect(RECORD_SIZE * BUFFER_RECORDS * 16);
+		long position = Math.max(0, fromRecord - base) * RECORD_SIZE;
+		while (position < end) {
+			read.clear();
+			if (end - position < read.capacity()) {
+				read.limit((int) (end - position));
+			}
+			while (read.hasRemaining()) {
+				if (channel.read(read, position + read.position()) < 0) {
+					throw new IOException("Transition log ended before record " + (base + end / RECORD_SIZE));
+				}
+			}
+			read.flip();
+			while (read.remaining() >= RECORD_SIZE) {
+				int context = read.getInt();
+				int from = read.get();
+				int to = read.get();
+				int event = read.getShort();
+				long time = read.getLong();
+				handler.apply(context, from, to, event, time);
+			}
+			position += read.limit();
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		commit();
+		channel.close();
+	}
+
+	private void flushBuffer() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		written += buffer.limit() / RECORD_SIZE;
+		buffer.clear();
+	}
+
+	public interface TransitionHandler {
+		void apply(int context, int from, int to, int event, long timeMillis);
+	}
+}
@@ -0,0 +1,10 @@
+package states;
+
+public class ChuaPhanCongState implements WorkState {
+
+	@Override
+	public void doWork() {
+		System.out.println("Nhan vien chua duoc phan cong chuc vu.");
+	}
+
+}
@@ -0,0 +1,27 @@
+package main;
+
+import java.io.IOException;
+
+import commands.BatchRunner;
+import coneretes.DoiTruong;
+import coneretes.Employee;
+import coneretes.GiamDoc;
+import coneretes.KeToanTruong;
+import coneretes.NhanVienVP;
+import coneretes.NhanVienXuong;
+
+/**
+ * Chay mot file lenh (cac so 0-5 giong menu) khong can tuong tac:
+ * java main.Main --batch input.txt [output.txt]
+ */
+public class BatchMode {
+
+	public static void run(String input, String output) throws IOException {
+		// Lenh 1-5 ung voi employees[0..4]
+		Employee[] employees = { new DoiTruong(), new GiamDoc(), new NhanVienVP(), new NhanVienXuong(),
+				new KeToanTruong() };
+
+		BatchRunner.run(input, output, employees.length, choice -> employees[choice - 1].performWork(),
+				"Lựa chọn không hợp lệ! Vui lòng nhập lại.");
+	}
+}
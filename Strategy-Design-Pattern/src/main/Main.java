@@ -1,5 +1,6 @@
 package main;
 
+import java.io.IOException;
 import java.util.Scanner;
 
 import coneretes.DoiTruong;
@@ -12,7 +13,11 @@ import strategies.DoiTruongStrategy;
 import strategies.GiamDocStrategy;
 
 public class Main {
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException {
+		if (args.length >= 2 && args[0].equals("--batch")) {
+			BatchMode.run(args[1], args.length >= 3 ? args[2] : null);
+			return;
+		}
 		Scanner scanner = new Scanner(System.in);
 		Employee employee = null;
 		boolean running = true;
@@ -0,0 +1,58 @@
+package commands;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.IntConsumer;
+
+/**
+ * Phan chung cua che do batch: doc cac so lenh tu file, 0 hoac het file thi
+ * dung. Trong luc chay System.out duoc chuyen sang mot bo dem lon (ghi ra
+ * {@code output} neu co), so lenh/giay in ra System.err khi xong.
+ */
+public final class BatchRunner {
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private BatchRunner() {
+	}
+
+	/** Lenh 1..{@code options} duoc chuyen cho {@code menu}; lenh khac in {@code invalidMessage}. */
+	public static void run(String input, String output, int options, IntConsumer menu, String invalidMessage)
+			throws IOException {
+		PrintStream console = System.out;
+		OutputStream target = output != null ? Files.newOutputStream(Paths.get(output))
+				: new FileOutputStream(FileDescriptor.out);
+		PrintStream out = new PrintStream(new BufferedOutputStream(target, BUFFER_SIZE), false, "UTF-8");
+		System.setOut(out);
+
+		long commands = 0;
+		long start = System.nanoTime();
+		try (InputStream in = Files.newInputStream(Paths.get(input))) {
+			CommandReader reader = new CommandReader(in, BUFFER_SIZE);
+			int choice;
+			while ((choice = reader.next()) != CommandReader.END && choice != 0) {
+				commands++;
+				if (choice >= 1 && choice <= options) {
+					menu.accept(choice);
+				} else {
+					out.println(invalidMessage);
+				}
+			}
+		} finally {
+			out.flush();
+			System.setOut(console);
+			if (output != null) {
+				out.close();
+			}
+		}
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.err.printf("%d commands in %.3f s (%.0f commands/s)%n", commands, seconds, commands / seconds);
+	}
+}
@@ -0,0 +1,63 @@
+package commands;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Doc lan luot cac so nguyen khong am tu mot InputStream, tu quan ly bo dem
+ * byte va tu parse so thay vi dung Scanner. Moi ky tu khong phai chu so deu
+ * duoc coi la dau phan cach, tru dau '-' dung ngay truoc so: so am va so vuot
+ * qua Integer.MAX_VALUE tra ve {@link #INVALID}.
+ */
+public class CommandReader {
+	public static final int END = -1;
+	public static final int INVALID = -2;
+
+	private final InputStream in;
+	private final byte[] buffer;
+	private int position;
+	private int limit;
+
+	public CommandReader(InputStream in, int bufferSize) {
+		this.in = in;
+		this.buffer = new byte[bufferSize];
+	}
+
+	/** So ke tiep, {@link #INVALID} neu so am hoac qua lon, hoac {@link #END} khi het du lieu. */
+	public int next() throws IOException {
+		int previous = END;
+		int b = read();
+		while (b != END && (b < '0' || b > '9')) {
+			previous = b;
+			b = read();
+		}
+		if (b == END) {
+			return END;
+		}
+		boolean invalid = previous == '-';
+		int value = 0;
+		while (b >= '0' && b <= '9') {
+			int digit = b - '0';
+			if (value > (Integer.MAX_VALUE - digit) / 10) {
+				invalid = true;
+			} else {
+				value = value * 10 + digit;
+			}
+			b = read();
+		}
+		return invalid ? INVALID : value;
+	}
+
+	private int read() throws IOException {
+		if (position == limit) {
+			limit = in.read(buffer, 0, buffer.length);
+			position = 0;
+			if (limit <= 0) {
+				limit = 0;
+				return END;
+			}
+		}
+		// & 0xFF: byte 0xFF khong duoc thanh -1 (END)
+		return buffer[position++] & 0xFF;
+	}
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import client.CoffeeShop;
+import composites.Table;
+import leafs.Product;
+
+/** Tinh tong doanh thu CoffeeShop voi so ban va so mon moi ban khac nhau. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompositeBenchmark {
+	@Param({ "10", "1000" })
+	public int tables;
+
+	@Param({ "4" })
+	public int productsPerTable;
+
+	private CoffeeShop coffeeShop;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		coffeeShop = new CoffeeShop();
+		for (int t = 0; t < tables; t++) {
+			Table table = new Table();
+			for (int p = 0; p < productsPerTable; p++) {
+				table.add(new Product("Mon " + p, 50000 + p * 5000));
+			}
+			coffeeShop.add(table);
+		}
+	}
+
+	@Benchmark
+	public double totalRevenue() {
+		return coffeeShop.getTotalRevenue();
+	}
+}
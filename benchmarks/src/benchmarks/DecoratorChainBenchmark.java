@@ -0,0 +1,128 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import toppings.Work;
+import toppings.WorkChain;
+import toppings.WorkDecorator;
+
+/**
+ * So sanh doWork() long nhau voi WorkChain (vong lap) va MethodHandle theo do
+ * sau chuoi. Toppings chi cong mot bien dem va xoay vong 4 lop khac nhau de
+ * loi goi doWork() thanh megamorphic nhu chuoi duoc dung dong.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DecoratorChainBenchmark {
+	@Param({ "1", "2", "4", "8", "16", "32", "64" })
+	public int depth;
+
+	static long counter;
+
+	private Work nested;
+	private Work flattened;
+	private Work methodHandle;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Work work = () -> counter++;
+		for (int i = 0; i < depth; i++) {
+			switch (i % 4) {
+			case 0:
+				work = new ToppingA(work);
+				break;
+			case 1:
+				work = new ToppingB(work);
+				break;
+			case 2:
+				work = new ToppingC(work);
+				break;
+			default:
+				work = new ToppingD(work);
+				break;
+			}
+		}
+		nested = work;
+		flattened = WorkChain.compile(work);
+		methodHandle = WorkChain.compileToHandleWork(work);
+	}
+
+	@Benchmark
+	public long nested() {
+		nested.doWork();
+		return counter;
+	}
+
+	@Benchmark
+	public long flattened() {
+		flattened.doWork();
+		return counter;
+	}
+
+	@Benchmark
+	public long methodHandle() {
+		methodHandle.doWork();
+		return counter;
+	}
+
+	public static class ToppingA extends WorkDecorator {
+		public ToppingA(Work workDecorated) {
+			super(workDecorated);
+		}
+
+		@Override
+		public void doOwnWork() {
+			counter++;
+		}
+	}
+
+	public static class ToppingB extends WorkDecorator {
+		public ToppingB(Work workDecorated) {
+			super(workDecorated);
+		}
+
+		@Override
+		public void doOwnWork() {
+			counter += 2;
+		}
+	}
+
+	public static class ToppingC extends WorkDecorator {
+		public ToppingC(Work workDecorated) {
+			super(workDecorated);
+		}
+
+		@Override
+		public void doOwnWork() {
+			counter += 3;
+		}
+	}
+
+	public static class ToppingD extends WorkDecorator {
+		public ToppingD(Work workDecorated) {
+			super(workDecorated);
+		}
+
+		@Override
+		public void doOwnWork() {
+			counter ^= 1;
+		}
+	}
+}
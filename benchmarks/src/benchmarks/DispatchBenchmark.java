@@ -0,0 +1,100 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import contexts.EmployeeContext;
+import entities.Employee;
+import enums.Role;
+import fsm.EmployeeStateMachines;
+import toppings.WorkChain;
+
+/**
+ * Chi phi mot lan "lam viec" cua cung mot vai tro (Doi Truong) qua tung cach
+ * cai dat: if-chain theo Role, Strategy, State, State machine va Decorator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+	private Employee roleEmployee;
+	private coneretes.Employee strategyEmployee;
+	private EmployeeContext stateContext;
+	private EmployeeContext fsmContext;
+	private decorators.Employee decoratorEmployee;
+	private toppings.Work flattenedChain;
+	private toppings.Work methodHandleChain;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		SilentOutput.install();
+		roleEmployee = new Employee(1, "Nguyen Van A", Role.DoiTruong);
+		strategyEmployee = new coneretes.DoiTruong();
+		stateContext = new EmployeeContext();
+		stateContext.setState(new states.DoiTruongState());
+		fsmContext = new EmployeeContext(EmployeeStateMachines.ROLES);
+		decoratorEmployee = new decorators.DoiTruong();
+		toppings.Work chain = new toppings.GanViec(new toppings.DiTuan(new toppings.WorkBasic()));
+		flattenedChain = WorkChain.compile(chain);
+		methodHandleChain = WorkChain.compileToHandleWork(chain);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SilentOutput.restore();
+	}
+
+	// In ket qua giong DesignPattern Main, de moi nhanh deu gom dispatch + mot lan in ra System.out
+	@Benchmark
+	public void roleIfChain() {
+		roleEmployee.handleRequest();
+		System.out.println(roleEmployee.getRole().getValue() + ": " + roleEmployee.getRequest());
+		roleEmployee.getRequest().clear();
+	}
+
+	@Benchmark
+	public void strategy() {
+		strategyEmployee.performWork();
+	}
+
+	@Benchmark
+	public void state() {
+		stateContext.applyState();
+	}
+
+	@Benchmark
+	public void stateMachineFireAndApply() {
+		fsmContext.fire(EmployeeStateMachines.CHON_DOI_TRUONG);
+		fsmContext.applyState();
+	}
+
+	@Benchmark
+	public void decoratorNested() {
+		decoratorEmployee.performWork();
+	}
+
+	@Benchmark
+	public void decoratorFlattened() {
+		flattenedChain.doWork();
+	}
+
+	@Benchmark
+	public void decoratorMethodHandle() {
+		methodHandleChain.doWork();
+	}
+}
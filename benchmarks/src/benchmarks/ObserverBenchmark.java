@@ -0,0 +1,50 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import subjects.ClassMonitor;
+
+/** Chi phi mot lan ClassMonitor.notification() theo so observer da attach. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObserverBenchmark {
+	@Param({ "1", "10", "100", "1000" })
+	public int observers;
+
+	static long delivered;
+
+	private ClassMonitor monitor;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		monitor = new ClassMonitor();
+		for (int i = 0; i < observers; i++) {
+			// lambda phai capture bien de moi observer la mot instance rieng
+			int id = i;
+			monitor.attach(() -> delivered += id);
+		}
+	}
+
+	@Benchmark
+	public long fanOut() {
+		monitor.notification();
+		return delivered;
+	}
+}
@@ -0,0 +1,32 @@
+package benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Cac doWork() trong repo deu in ra System.out; khi do benchmark thi chuyen
+ * System.out sang mot stream bo qua du lieu de chi con lai chi phi dispatch
+ * va dinh dang chuoi.
+ */
+final class SilentOutput {
+	private static final PrintStream SILENT = new PrintStream(OutputStream.nullOutputStream());
+
+	private static PrintStream original;
+
+	private SilentOutput() {
+	}
+
+	static synchronized void install() {
+		if (original == null) {
+			original = System.out;
+			System.setOut(SILENT);
+		}
+	}
+
+	static synchronized void restore() {
+		if (original != null) {
+			System.setOut(original);
+			original = null;
+		}
+	}
+}
@@ -2,4 +2,10 @@ package components;
 
 public interface Component {
 	double getPrice();
+
+	default void addListener(ComponentListener listener) {
+	}
+
+	default void removeListener(ComponentListener listener) {
+	}
 }
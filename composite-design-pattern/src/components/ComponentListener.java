@@ -0,0 +1,5 @@
+package components;
+
+public interface ComponentListener {
+	void changed(Component component);
+}
@@ -1,19 +1,42 @@
 package composites;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import components.Component;
+import components.ComponentListener;
 
 public class Table implements Component {
-	List<Component> products = new ArrayList<Component>();
+	// Flush chay tren thread write-behind doc getPrice() trong khi thread khac add()
+	List<Component> products = new CopyOnWriteArrayList<Component>();
+	List<ComponentListener> listeners = new CopyOnWriteArrayList<ComponentListener>();
+	// Gia mon thay doi thi tong cua ban cung thay doi
+	ComponentListener childListener = component -> changed();
 
 	public void add(Component product) {
         products.add(product);
+        product.addListener(childListener);
+        changed();
     }
 
     @Override
     public double getPrice() {
         return products.stream().mapToDouble(Component::getPrice).sum();
     }
+
+	@Override
+	public void addListener(ComponentListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeListener(ComponentListener listener) {
+		listeners.remove(listener);
+	}
+
+	private void changed() {
+		for (ComponentListener listener : listeners) {
+			listener.changed(this);
+		}
+	}
 }
@@ -1,10 +1,15 @@
 package leafs;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import components.Component;
+import components.ComponentListener;
 
 public class Product implements Component {
 	String name;
 	double price;
+	List<ComponentListener> listeners = new CopyOnWriteArrayList<ComponentListener>();
 	
 
 	public Product(String name, double price) {
@@ -26,6 +31,9 @@ public class Product implements Component {
 
 	public void setPrice(double price) {
 		this.price = price;
+		for (ComponentListener listener : listeners) {
+			listener.changed(this);
+		}
 	}
 
 
@@ -35,4 +43,16 @@ public class Product implements Component {
 		return price;
 	}
 
+
+	@Override
+	public void addListener(ComponentListener listener) {
+		listeners.add(listener);
+	}
+
+
+	@Override
+	public void removeListener(ComponentListener listener) {
+		listeners.remove(listener);
+	}
+
 }
@@ -0,0 +1,9 @@
+package stores;
+
+import java.io.IOException;
+import java.util.Map;
+
+public interface ComponentStore {
+	// Ghi mot lo gia theo key; key khong co trong lo thi giu nguyen
+	void writeAll(Map<String, Double> prices) throws IOException;
+}
@@ -0,0 +1,42 @@
+package stores;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+
+/** Luu gia vao mot file properties (key=price); moi lan writeAll ghi lai ca file qua file tam. */
+public class FileComponentStore implements ComponentStore {
+	private final Path file;
+	private final Properties prices = new Properties();
+
+	public FileComponentStore(Path file) throws IOException {
+		this.file = file;
+		if (Files.exists(file)) {
+			try (InputStream in = Files.newInputStream(file)) {
+				prices.load(in);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void writeAll(Map<String, Double> batch) throws IOException {
+		for (Map.Entry<String, Double> entry : batch.entrySet()) {
+			prices.setProperty(entry.getKey(), String.valueOf(entry.getValue()));
+		}
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (OutputStream out = Files.newOutputStream(tmp)) {
+			prices.store(out, null);
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	public synchronized Double read(String key) {
+		String value = prices.getProperty(key);
+		return value == null ? null : Double.valueOf(value);
+	}
+}
@@ -0,0 +1,135 @@
+package stores;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import components.Component;
+import components.ComponentListener;
+
+/**
+ * Ghi tre (write-behind) cho Product/Table: moi thay doi chi danh dau key la
+ * "dirty"; nhieu lan doi gia cung mot key truoc lan flush ke tiep gop lai
+ * thanh mot lan ghi. Flush dinh ky moi {@code flushIntervalMillis}, hoac som
+ * hon khi so key dirty dat {@code maxDirty}. Mac dinh ghi vao file
+ * {@value #DEFAULT_FILE} qua FileComponentStore. {@link #close()} flush lan
+ * cuoi va go listener khoi cac component da track; thay doi sau do bi bo qua.
+ */
+public class WriteBehindCache implements Closeable {
+	public static final String DEFAULT_FILE = "prices.properties";
+	public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+	public static final int DEFAULT_MAX_DIRTY = 1000;
+
+	private final ComponentStore store;
+	private final int maxDirty;
+	private final Map<String, Component> dirty = new ConcurrentHashMap<>();
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+	private final ScheduledExecutorService scheduler;
+	private final Map<ComponentListener, Component> tracked = new ConcurrentHashMap<>();
+	private volatile boolean closed;
+
+	public WriteBehindCache() throws IOException {
+		this(Paths.get(DEFAULT_FILE));
+	}
+
+	public WriteBehindCache(Path file) throws IOException {
+		this(new FileComponentStore(file), DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_MAX_DIRTY);
+	}
+
+	public WriteBehindCache(ComponentStore store, long flushIntervalMillis, int maxDirty) {
+		this.store = store;
+		this.maxDirty = maxDirty;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "write-behind");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	public void track(String key, Component component) {
+		if (closed) {
+			throw new IllegalStateException("WriteBehindCache is closed");
+		}
+		ComponentListener listener = changed -> markDirty(key, changed);
+		tracked.put(listener, component);
+		component.addListener(listener);
+	}
+
+	public void markDirty(String key, Component component) {
+		if (closed) {
+			return;
+		}
+		dirty.put(key, component);
+		if (dirty.size() >= maxDirty && flushRequested.compareAndSet(false, true)) {
+			try {
+				scheduler.execute(this::flushQuietly);
+			} catch (RejectedExecutionException e) {
+				// close() vua chay va se tu flush key nay
+			}
+		}
+	}
+
+	public int dirtyCount() {
+		return dirty.size();
+	}
+
+	/** Ghi tat ca key dang dirty trong mot lo; tra ve so key da ghi. */
+	public synchronized int flush() throws IOException {
+		flushRequested.set(false);
+		Map<String, Component> taken = new HashMap<>();
+		for (String key : new ArrayList<>(dirty.keySet())) {
+			Component component = dirty.remove(key);
+			if (component != null) {
+				taken.put(key, component);
+			}
+		}
+		if (taken.isEmpty()) {
+			return 0;
+		}
+		// Doc gia luc flush, nen nhung lan doi gia truoc do chi con gia cuoi cung
+		Map<String, Double> prices = new HashMap<>();
+		taken.forEach((key, component) -> prices.put(key, component.getPrice()));
+		try {
+			store.writeAll(prices);
+		} catch (IOException | RuntimeException e) {
+			// Tra lai cac key chua ghi duoc; key da bi danh dau lai thi giu ban moi hon
+			taken.forEach(dirty::putIfAbsent);
+			throw e;
+		}
+		return prices.size();
+	}
+
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		tracked.forEach((listener, component) -> component.removeListener(listener));
+		tracked.clear();
+		scheduler.shutdown();
+		try {
+			scheduler.awaitTermination(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		flush();
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+}
@@ -0,0 +1,74 @@
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Day phieu qua RingBufferVoteSource va VoteProcessor ma khong can Redis hay
+ * Postgres. Ket qua xac dinh: producer i gui phieu theo chi so nen tong so
+ * phieu moi lua chon luon biet truoc va duoc kiem tra khi ket thuc.
+ *
+ * java InProcessLoadTest [votes] [producers] [batchSize]
+ */
+public class InProcessLoadTest {
+    private static final String[] OPTIONS = { "Cats", "Dogs" };
+
+    public static void main(String[] args) throws Exception {
+        long votes = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000;
+        int producers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+
+        RingBufferVoteSource source = new RingBufferVoteSource(1 << 16);
+        CountingVoteStore store = new CountingVoteStore();
+        VoteProcessor processor = new VoteProcessor(source, store, batchSize);
+
+        long start = System.nanoTime();
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads[p] = new Thread(() -> {
+                for (long i = producer; i < votes; i += producers) {
+                    source.put(OPTIONS[(int) (i % OPTIONS.length)]);
+                }
+            }, "producer-" + p);
+            threads[p].start();
+        }
+
+        long processed = 0;
+        while (processed < votes) {
+            processed += processor.processBatch(100).size();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%,d votes in %.3f s (%,.0f votes/s), producers=%d, batch=%d%n", processed, seconds,
+                processed / seconds, producers, batchSize);
+        for (int o = 0; o < OPTIONS.length; o++) {
+            long expected = votes / OPTIONS.length + (o < votes % OPTIONS.length ? 1 : 0);
+            long actual = store.count(OPTIONS[o]);
+            System.out.printf("%s: %,d%s%n", OPTIONS[o], actual, actual == expected ? "" : " (expected " + expected + ")");
+            if (actual != expected) {
+                System.exit(1);
+            }
+        }
+    }
+
+    /** VoteStore thay cho Postgres: chi dem so phieu moi lua chon. */
+    static class CountingVoteStore implements VoteStore {
+        private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+        @Override
+        public void store(List<String> votes) {
+            for (String vote : votes) {
+                counts.computeIfAbsent(vote, k -> new LongAdder()).increment();
+            }
+        }
+
+        long count(String vote) {
+            LongAdder count = counts.get(vote);
+            return count == null ? 0 : count.sum();
+        }
+    }
+}
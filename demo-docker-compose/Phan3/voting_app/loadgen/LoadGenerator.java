@@ -0,0 +1,104 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Sinh tai open-loop vao Worker voi toc do co dinh va do do tre tu luc phieu
+ * le ra duoc gui toi luc duoc commit. Do tre tinh tu thoi diem du dinh (khong
+ * phai luc thuc su gui) nen khi producer bi cham, thoi gian cho cung duoc
+ * tinh vao (tranh coordinated omission).
+ *
+ * java LoadGenerator [rate votes/s] [seconds] [batchSize] [commitMicros] [mode...]
+ * mode: in-process | redis-list | redis-stream (mac dinh chay ca ba)
+ */
+public class LoadGenerator {
+    private static final String[] OPTIONS = { "Cats", "Dogs" };
+
+    public static void main(String[] args) throws Exception {
+        long rate = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        long commitMicros = args.length > 3 ? Long.parseLong(args[3]) : 200;
+        List<String> modes = args.length > 4 ? Arrays.asList(args).subList(4, args.length)
+                : Arrays.asList("in-process", "redis-list", "redis-stream");
+
+        System.out.printf("rate=%,d votes/s duration=%ds batch=%d commit=%dus%n", rate, seconds, batchSize,
+                commitMicros);
+        for (String mode : modes) {
+            run(mode, rate, seconds, batchSize, TimeUnit.MICROSECONDS.toNanos(commitMicros));
+        }
+    }
+
+    private static void run(String mode, long rate, int seconds, int batchSize, long commitNanos)
+            throws Exception {
+        VoteSource source;
+        Consumer<String> enqueue;
+        switch (mode) {
+        case "in-process":
+            RingBufferVoteSource ring = new RingBufferVoteSource(1 << 16);
+            source = ring;
+            enqueue = ring::put;
+            break;
+        case "redis-list":
+            StandInListVoteSource list = new StandInListVoteSource();
+            source = list;
+            enqueue = list::lpush;
+            break;
+        case "redis-stream":
+            StandInStreamVoteSource stream = new StandInStreamVoteSource();
+            source = stream;
+            enqueue = stream::xadd;
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+
+        Histogram latency = new Histogram(TimeUnit.SECONDS.toNanos(60), 3);
+        StandInVoteStore store = new StandInVoteStore(commitNanos, latency);
+        VoteProcessor processor = new VoteProcessor(source, store, batchSize);
+        long total = rate * seconds;
+
+        List<Throwable> errors = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                while (store.getStored() < total) {
+                    processor.processBatch(100);
+                }
+            } catch (Exception e) {
+                errors.add(e);
+            }
+        }, "worker-" + mode);
+        consumer.start();
+
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            // Nhan truoc roi moi chia: interval = 1s / rate lam tron xuong se troi dan khi rate khong chia het 1e9
+            long intended = start + i * TimeUnit.SECONDS.toNanos(1) / rate;
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                if (intended - now > 50_000) {
+                    LockSupport.parkNanos(intended - now - 20_000);
+                }
+            }
+            enqueue.accept(OPTIONS[(int) (i % OPTIONS.length)] + '|' + intended);
+        }
+        consumer.join();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Worker failed in mode " + mode, errors.get(0));
+        }
+
+        System.out.printf("%-11s %,12.0f votes/s  p50=%,9.1fus  p99=%,9.1fus  p99.9=%,9.1fus  max=%,9.1fus%n",
+                mode, store.getStored() / elapsed, micros(latency.getValueAtPercentile(50)),
+                micros(latency.getValueAtPercentile(99)), micros(latency.getValueAtPercentile(99.9)),
+                micros(latency.getMaxValue()));
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
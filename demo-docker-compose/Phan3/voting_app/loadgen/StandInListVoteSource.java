@@ -0,0 +1,49 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thay cho list "votes" tren Redis: producer LPUSH vao dau, Worker lay theo
+ * lo tu cuoi giong RPOP key count / BRPOP cua RedisListVoteSource, ke ca
+ * viec tra lo ve cuoi list khi ghi that bai.
+ */
+public class StandInListVoteSource implements VoteSource {
+    private final LinkedBlockingDeque<String> list = new LinkedBlockingDeque<>();
+    private final List<String> inFlight = new ArrayList<>();
+
+    public void lpush(String vote) {
+        list.addFirst(vote);
+    }
+
+    @Override
+    public int poll(List<String> batch, int max, long timeoutMillis) throws InterruptedException {
+        String first = list.pollLast();
+        if (first == null) {
+            first = list.pollLast(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return 0;
+            }
+        }
+        inFlight.add(first);
+        String vote;
+        while (inFlight.size() < max && (vote = list.pollLast()) != null) {
+            inFlight.add(vote);
+        }
+        batch.addAll(inFlight);
+        return inFlight.size();
+    }
+
+    @Override
+    public void commit() {
+        inFlight.clear();
+    }
+
+    @Override
+    public void rollback() {
+        for (int i = inFlight.size() - 1; i >= 0; i--) {
+            list.addLast(inFlight.get(i));
+        }
+        inFlight.clear();
+    }
+}
@@ -0,0 +1,42 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thay cho stream "votes-stream" cua RedisStreamVoteSource: producer XADD,
+ * Worker doc theo lo qua consumer group va phai ack. Lo da giao ma chua ack
+ * (pending list) duoc giao lai o lan poll sau, giong doc lai bang ID "0".
+ */
+public class StandInStreamVoteSource implements VoteSource {
+    private final LinkedBlockingQueue<String> stream = new LinkedBlockingQueue<>();
+    private final List<String> pending = new ArrayList<>();
+
+    public void xadd(String vote) {
+        stream.add(vote);
+    }
+
+    @Override
+    public int poll(List<String> batch, int max, long timeoutMillis) throws InterruptedException {
+        if (!pending.isEmpty()) {
+            batch.addAll(pending);
+            return pending.size();
+        }
+        String first = stream.poll();
+        if (first == null) {
+            first = stream.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return 0;
+            }
+        }
+        pending.add(first);
+        stream.drainTo(pending, max - 1);
+        batch.addAll(pending);
+        return pending.size();
+    }
+
+    @Override
+    public void commit() {
+        pending.clear();
+    }
+}
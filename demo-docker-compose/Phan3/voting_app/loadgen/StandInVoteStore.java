@@ -0,0 +1,36 @@
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Thay cho Postgres: moi lo ton mot khoang "commit" co dinh, sau do ghi do
+ * tre enqueue -> commit cua tung phieu vao histogram. Phieu co dang
+ * "lua_chon|thoi_diem_du_dinh_gui_nanoTime".
+ */
+public class StandInVoteStore implements VoteStore {
+    private final long commitNanos;
+    private final Histogram latency;
+    private long stored;
+
+    public StandInVoteStore(long commitNanos, Histogram latency) {
+        this.commitNanos = commitNanos;
+        this.latency = latency;
+    }
+
+    @Override
+    public void store(List<String> votes) {
+        if (commitNanos > 0) {
+            LockSupport.parkNanos(commitNanos);
+        }
+        long committedAt = System.nanoTime();
+        for (String vote : votes) {
+            long intended = Long.parseLong(vote.substring(vote.indexOf('|') + 1));
+            latency.recordValue(Math.min(Math.max(0, committedAt - intended), latency.getHighestTrackableValue()));
+        }
+        stored += votes.size();
+    }
+
+    public long getStored() {
+        return stored;
+    }
+}
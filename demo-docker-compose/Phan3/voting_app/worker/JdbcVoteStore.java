@@ -0,0 +1,38 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/** Ghi ca lo phieu trong mot transaction bang JDBC batch va mot PreparedStatement dung lai. */
+public class JdbcVoteStore implements VoteStore {
+    private final Connection conn;
+    private final PreparedStatement insert;
+
+    public JdbcVoteStore(Connection conn) throws SQLException {
+        this.conn = conn;
+        conn.createStatement()
+                .execute("CREATE TABLE IF NOT EXISTS votes (id SERIAL PRIMARY KEY, vote VARCHAR(50))");
+        conn.setAutoCommit(false);
+        this.insert = conn.prepareStatement("INSERT INTO votes (vote) VALUES (?)");
+    }
+
+    @Override
+    public void store(List<String> votes) throws SQLException {
+        try {
+            for (String vote : votes) {
+                insert.setString(1, vote);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        insert.close();
+    }
+}
@@ -0,0 +1,61 @@
+import java.util.ArrayList;
+import java.util.List;
+import redis.clients.jedis.Jedis;
+
+/**
+ * List "votes" ma vote app LPUSH vao; lay theo lo bang RPOP key count (Redis 6.2+).
+ * Lo vua lay duoc giu lai den khi commit; neu ghi DB that bai thi RPUSH tra
+ * ve cuoi list theo dung thu tu cu de lan poll sau lay lai dung lo do.
+ */
+public class RedisListVoteSource implements VoteSource {
+    private final Jedis jedis;
+    private final String key;
+    private final List<String> inFlight = new ArrayList<>();
+
+    public RedisListVoteSource(String redisHost, String key) {
+        this.jedis = new Jedis(redisHost);
+        this.key = key;
+    }
+
+    @Override
+    public int poll(List<String> batch, int max, long timeoutMillis) {
+        List<String> votes = jedis.rpop(key, max);
+        if (votes == null || votes.isEmpty()) {
+            // Chua co phieu: cho bang BRPOP thay vi sleep de phieu moi duoc xu ly ngay
+            List<String> popped = jedis.brpop((int) Math.max(1, (timeoutMillis + 999) / 1000), key);
+            if (popped == null || popped.size() < 2) {
+                return 0;
+            }
+            inFlight.add(popped.get(1));
+            batch.add(popped.get(1));
+            return 1;
+        }
+        inFlight.addAll(votes);
+        batch.addAll(votes);
+        return votes.size();
+    }
+
+    @Override
+    public void commit() {
+        inFlight.clear();
+    }
+
+    @Override
+    public void rollback() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        // RPOP lay tu cuoi list, nen day nguoc lai de phieu lay dau tien lai nam o cuoi
+        String[] votes = new String[inFlight.size()];
+        for (int i = 0; i < votes.length; i++) {
+            votes[i] = inFlight.get(votes.length - 1 - i);
+        }
+        jedis.rpush(key, votes);
+        inFlight.clear();
+    }
+
+    @Override
+    public void close() {
+        jedis.close();
+    }
+}
@@ -0,0 +1,109 @@
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.params.XReadGroupParams;
+import redis.clients.jedis.resps.StreamEntry;
+
+/**
+ * Doc phieu tu Redis Stream qua consumer group, nen nhieu Worker chia nhau
+ * mot stream va phieu chi duoc XACK sau khi da ghi vao DB. Producer can
+ * XADD vao stream voi truong "vote".
+ *
+ * <p>Phieu da giao cho consumer nay nhung chua XACK (Worker chet giua chung,
+ * hoac ghi DB that bai) nam trong pending list cua consumer. Luc khoi dong va
+ * sau mot lo that bai, poll doc lai pending list bang ID "0" cho den khi het
+ * roi moi chuyen sang ">" de lay phieu moi.
+ */
+public class RedisStreamVoteSource implements VoteSource {
+    private final Jedis jedis;
+    private final String stream;
+    private final String group;
+    private final String consumer;
+    private final List<StreamEntryID> pending = new ArrayList<>();
+    private boolean readBacklog = true;
+
+    public RedisStreamVoteSource(String redisHost, String stream, String group) {
+        this.jedis = new Jedis(redisHost);
+        this.stream = stream;
+        this.group = group;
+        this.consumer = consumerName();
+        try {
+            jedis.xgroupCreate(stream, group, new StreamEntryID(), true);
+        } catch (JedisDataException e) {
+            if (e.getMessage() == null || !e.getMessage().startsWith("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public int poll(List<String> batch, int max, long timeoutMillis) {
+        if (!pending.isEmpty()) {
+            // Lo truoc khong duoc commit: cac phieu do van pending, doc lai tu dau
+            rollback();
+        }
+        if (readBacklog) {
+            int count = read(batch, XReadGroupParams.xReadGroupParams().count(max), new StreamEntryID());
+            if (!pending.isEmpty()) {
+                return count;
+            }
+            readBacklog = false;
+        }
+        return read(batch, XReadGroupParams.xReadGroupParams().count(max).block((int) timeoutMillis),
+                StreamEntryID.UNRECEIVED_ENTRY);
+    }
+
+    private int read(List<String> batch, XReadGroupParams params, StreamEntryID from) {
+        List<Map.Entry<String, List<StreamEntry>>> result = jedis.xreadGroup(group, consumer, params,
+                Collections.singletonMap(stream, from));
+        if (result == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Map.Entry<String, List<StreamEntry>> entries : result) {
+            for (StreamEntry entry : entries.getValue()) {
+                // Entry da bi XDEL van con trong pending list nhung khong co truong nao; chi can ack
+                pending.add(entry.getID());
+                String vote = entry.getFields() != null ? entry.getFields().get("vote") : null;
+                if (vote != null) {
+                    batch.add(vote);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void commit() {
+        if (!pending.isEmpty()) {
+            jedis.xack(stream, group, pending.toArray(new StreamEntryID[0]));
+            pending.clear();
+        }
+    }
+
+    @Override
+    public void rollback() {
+        pending.clear();
+        readBacklog = true;
+    }
+
+    @Override
+    public void close() {
+        jedis.close();
+    }
+
+    private static String consumerName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "worker-" + ProcessHandle.current().pid();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ket qua binh chon giu trong bo nho, cap nhat tang dan tu chinh Worker.
+ * Moi lan thay doi tang version; JSON cua moi version chi duoc dung mot lan
+ * va dung lai cho tat ca client. Dung ReentrantLock thay vi synchronized de
+ * long-poll dang cho tren virtual thread khong giu carrier thread.
+ */
+public class ResultsCache {
+    private final Map<String, Long> counts = new LinkedHashMap<>();
+    private long version;
+    private Snapshot snapshot = new Snapshot(0, Collections.emptyMap());
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition versionChanged = lock.newCondition();
+
+    /** Ghi ca lo mot lan: long-poll chi bi danh thuc mot lan moi lo, khong phai moi phieu. */
+    public void record(List<String> votes) {
+        if (votes.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (String vote : votes) {
+                counts.merge(vote, 1L, Long::sum);
+            }
+            changed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Nang so phieu len it nhat bang {@code totals} (tu DB hoac SharedTally).
+     * Khong ha so xuong de khong lam mat phieu vua record sau luc truy van.
+     */
+    public void mergeAtLeast(Map<String, Long> totals) {
+        lock.lock();
+        try {
+            boolean updated = false;
+            for (Map.Entry<String, Long> entry : totals.entrySet()) {
+                Long current = counts.get(entry.getKey());
+                if (current == null || current < entry.getValue()) {
+                    counts.put(entry.getKey(), entry.getValue());
+                    updated = true;
+                }
+            }
+            if (updated) {
+                changed();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Snapshot snapshot() {
+        lock.lock();
+        try {
+            if (snapshot.version != version) {
+                snapshot = new Snapshot(version, new LinkedHashMap<>(counts));
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Cho toi khi version khac {@code knownVersion} hoac het {@code timeoutMillis}. */
+    public Snapshot awaitChange(long knownVersion, long timeoutMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (version == knownVersion && remaining > 0) {
+                remaining = versionChanged.awaitNanos(remaining);
+            }
+            return snapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void changed() {
+        version++;
+        versionChanged.signalAll();
+    }
+
+    public static final class Snapshot {
+        private final long version;
+        private final Map<String, Long> counts;
+        private final byte[] json;
+
+        private Snapshot(long version, Map<String, Long> counts) {
+            this.version = version;
+            this.counts = Collections.unmodifiableMap(counts);
+            this.json = toJson(version, counts).getBytes(StandardCharsets.UTF_8);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public Map<String, Long> getCounts() {
+            return counts;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public String getETag() {
+            return "\"" + version + "\"";
+        }
+
+        private static String toJson(long version, Map<String, Long> counts) {
+            StringBuilder json = new StringBuilder("{\"version\":").append(version).append(",\"votes\":{");
+            boolean first = true;
+            for (Map.Entry<String, Long> entry : counts.entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                json.append('"');
+                for (char c : entry.getKey().toCharArray()) {
+                    if (c == '"' || c == '\\') {
+                        json.append('\\').append(c);
+                    } else if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+                json.append("\":").append(entry.getValue());
+            }
+            return json.append("}}").toString();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP endpoint nho phuc vu ket qua tu ResultsCache, khong truy van DB.
+ *
+ * GET /results                      -> JSON hien tai, kem ETag = version
+ * GET /results?wait=30 + If-None-Match -> long-poll toi da 30s cho den khi
+ *                                       version thay doi, neu khong tra 304
+ *
+ * Moi request chay tren mot virtual thread, nen long-poll dang cho khong
+ * giu platform thread nao va khong can gioi han so client cho cung luc.
+ */
+public class ResultsServer {
+    private static final long MAX_WAIT_SECONDS = 60;
+
+    private final ResultsCache cache;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public ResultsServer(ResultsCache cache, int port) throws IOException {
+        this.cache = cache;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/results", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            ResultsCache.Snapshot snapshot = cache.snapshot();
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (snapshot.getETag().equals(ifNoneMatch)) {
+                long wait = waitSeconds(exchange.getRequestURI());
+                if (wait > 0) {
+                    snapshot = cache.awaitChange(snapshot.getVersion(), wait * 1000);
+                }
+                if (snapshot.getETag().equals(ifNoneMatch)) {
+                    exchange.getResponseHeaders().set("ETag", snapshot.getETag());
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+            }
+            byte[] body = snapshot.getJson();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("ETag", snapshot.getETag());
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static long waitSeconds(URI uri) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return 0;
+        }
+        for (String param : query.split("&")) {
+            if (param.startsWith("wait=")) {
+                try {
+                    return Math.max(0, Math.min(MAX_WAIT_SECONDS, Long.parseLong(param.substring(5))));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
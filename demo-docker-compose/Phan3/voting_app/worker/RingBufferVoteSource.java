@@ -0,0 +1,105 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ring buffer nhieu producer - mot consumer, khong khoa, cho producer chay
+ * trong cung JVM voi Worker (bo qua mang hoan toan). Producer gianh slot
+ * bang CAS tren tail; slot chi duoc coi la co du lieu khi da khac null, nen
+ * consumer khong doc nham slot da gianh nhung chua ghi xong. Lo da lay ra
+ * duoc giu lai den khi commit(), va duoc giao lai neu ghi that bai. Khong chon
+ * duoc qua VOTE_SOURCE vi producer phai nam trong cung JVM (xem loadgen).
+ */
+public class RingBufferVoteSource implements VoteSource {
+    private static final long PARK_NANOS = 50_000;
+
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    // Chi consumer dung
+    private final List<String> inFlight = new ArrayList<>();
+
+    public RingBufferVoteSource(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /** Tra ve false neu buffer day. */
+    public boolean offer(String vote) {
+        if (vote == null) {
+            throw new NullPointerException("vote");
+        }
+        while (true) {
+            long t = tail.get();
+            if (t - head.get() > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.lazySet((int) t & mask, vote);
+                return true;
+            }
+        }
+    }
+
+    /** Cho (park ngan) cho toi khi co cho trong. */
+    public void put(String vote) {
+        while (!offer(vote)) {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    @Override
+    public int poll(List<String> batch, int max, long timeoutMillis) {
+        if (!inFlight.isEmpty()) {
+            // Lo truoc chua duoc commit: giao lai truoc khi lay phieu moi
+            batch.addAll(inFlight);
+            return inFlight.size();
+        }
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        int count = drain(max);
+        while (count == 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(PARK_NANOS);
+            count = drain(max);
+        }
+        batch.addAll(inFlight);
+        return count;
+    }
+
+    @Override
+    public void commit() {
+        inFlight.clear();
+    }
+
+    @Override
+    public void rollback() {
+        // Giu nguyen inFlight: lan poll sau giao lai ca lo
+    }
+
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    private int drain(int max) {
+        long h = head.get();
+        int count = 0;
+        while (count < max) {
+            int index = (int) h & mask;
+            String vote = slots.get(index);
+            if (vote == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            inFlight.add(vote);
+            h++;
+            count++;
+        }
+        head.lazySet(h);
+        return count;
+    }
+}
@@ -0,0 +1,244 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bo dem phieu dung chung giua cac Worker tren cung mot may qua file
+ * memory-mapped. Moi lua chon (VOTE_OPTIONS) co mot slot 64-bit, cac slot
+ * cach nhau SLOT_SIZE byte de hai worker cap nhat hai lua chon khac nhau
+ * khong tranh chap cung cache line. Cap nhat bang VarHandle getAndAdd.
+ *
+ * Worker gianh duoc quyen seed (CAS tren SEED_CLAIM) gan gia tri ban dau tu
+ * DB, truoc khi bat ky worker nao duoc phep tang bo dem. Neu worker do chet
+ * giua chung, worker khac lay lai quyen seed sau SEED_TIMEOUT_MILLIS.
+ *
+ * Sau do bo dem chi tang theo phieu cac worker commit, va dinh ky duoc doi
+ * chieu voi DB ({@link #reconcile}): vi worker tang bo dem sau khi commit,
+ * chenh lech tam thoi la binh thuong, nen chi sua khi cung mot chenh lech lap
+ * lai RECONCILE_CHECKS lan lien tiep (vd. worker chet giua commit va
+ * increment, hoac DB bi xoa).
+ */
+public class SharedTally implements Closeable {
+    private static final int MAGIC = 0x564f5445; // "VOTE"
+    private static final int HEADER_SIZE = 128;
+    private static final int SLOT_SIZE = 128;
+    private static final int SLOTS_OFFSET = 4;
+    private static final int STATE_OFFSET = 8;
+    private static final int SEED_CLAIM_OFFSET = 16;
+    private static final int RECONCILE_LEASE_OFFSET = 24;
+    // Trong moi slot, sau so dem: chenh lech lan doi chieu truoc va so lan lap lai
+    private static final int LAST_DELTA_OFFSET = 8;
+    private static final int STREAK_OFFSET = 16;
+    private static final int SEEDING = 1;
+    private static final int READY = 2;
+    private static final long SEED_TIMEOUT_MILLIS = 30_000;
+    private static final int RECONCILE_CHECKS = 3;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.nativeOrder());
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class,
+            ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final List<String> options;
+
+    private SharedTally(FileChannel channel, MappedByteBuffer buffer, List<String> options) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.options = options;
+    }
+
+    /**
+     * Mo (hoac tao) file dung chung de ghi. Worker gianh duoc quyen seed goi
+     * {@code seed} de lay so phieu hien co trong DB; cac worker khac cho toi khi
+     * seed xong.
+     */
+    public static SharedTally open(Path file, List<String> options, Seed seed) throws Exception {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size(options));
+            SharedTally tally = new SharedTally(channel, buffer, List.copyOf(options));
+            while (!tally.isReady(file)) {
+                long claim = (long) LONGS.getVolatile(buffer, SEED_CLAIM_OFFSET);
+                long now = System.currentTimeMillis();
+                // File moi (claim = 0) hoac worker dang seed da chet: gianh quyen seed
+                if ((claim == 0 || now - claim > SEED_TIMEOUT_MILLIS)
+                        && LONGS.compareAndSet(buffer, SEED_CLAIM_OFFSET, claim, now)) {
+                    tally.seed(seed, now);
+                } else {
+                    Thread.sleep(10);
+                }
+            }
+            tally.checkSlots(file);
+            return tally;
+        } catch (Exception e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Mo file da seed xong de doc; khong bao gio tao hay seed file. */
+    public static SharedTally openReadOnly(Path file, List<String> options) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() < size(options)) {
+                throw new IOException("Shared tally " + file + " is too small for " + options.size() + " options");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size(options));
+            SharedTally tally = new SharedTally(channel, buffer, List.copyOf(options));
+            if (!tally.isReady(file)) {
+                throw new IOException("Shared tally " + file + " has not been seeded yet");
+            }
+            tally.checkSlots(file);
+            return tally;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Doi chieu voi DB neu da qua {@code intervalMillis} ke tu lan doi chieu truoc
+     * cua bat ky worker nao tren may. Tra ve cac lua chon da duoc sua va muc sua.
+     */
+    public Map<String, Long> reconcile(long intervalMillis, Seed db) throws Exception {
+        Map<String, Long> corrections = new LinkedHashMap<>();
+        long lease = (long) LONGS.getVolatile(buffer, RECONCILE_LEASE_OFFSET);
+        long now = System.currentTimeMillis();
+        if (now - lease < intervalMillis || !LONGS.compareAndSet(buffer, RECONCILE_LEASE_OFFSET, lease, now)) {
+            return corrections;
+        }
+        long[] before = counts();
+        Map<String, Long> totals = db.load();
+        for (int slot = 0; slot < options.size(); slot++) {
+            long count = (long) LONGS.getVolatile(buffer, offset(slot));
+            if (count != before[slot]) {
+                // Co phieu moi trong luc doc DB: lan nay khong ket luan duoc
+                continue;
+            }
+            long delta = totals.getOrDefault(options.get(slot), 0L) - count;
+            long last = (long) LONGS.getVolatile(buffer, offset(slot) + LAST_DELTA_OFFSET);
+            long streak = (long) LONGS.getVolatile(buffer, offset(slot) + STREAK_OFFSET);
+            streak = delta == 0 ? 0 : delta == last ? streak + 1 : 1;
+            if (streak >= RECONCILE_CHECKS) {
+                LONGS.getAndAdd(buffer, offset(slot), delta);
+                corrections.put(options.get(slot), delta);
+                delta = 0;
+                streak = 0;
+            }
+            LONGS.setVolatile(buffer, offset(slot) + LAST_DELTA_OFFSET, delta);
+            LONGS.setVolatile(buffer, offset(slot) + STREAK_OFFSET, streak);
+        }
+        return corrections;
+    }
+
+    /** Tra ve gia tri moi, hoac -1 neu vote khong thuoc VOTE_OPTIONS. */
+    public long increment(String vote) {
+        int slot = options.indexOf(vote);
+        if (slot < 0) {
+            return -1;
+        }
+        return (long) LONGS.getAndAdd(buffer, offset(slot), 1L) + 1;
+    }
+
+    public long get(String option) {
+        int slot = options.indexOf(option);
+        return slot < 0 ? 0 : (long) LONGS.getVolatile(buffer, offset(slot));
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (int slot = 0; slot < options.size(); slot++) {
+            totals.put(options.get(slot), (long) LONGS.getVolatile(buffer, offset(slot)));
+        }
+        return totals;
+    }
+
+    public List<String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void seed(Seed seed, long claim) throws Exception {
+        INTS.setVolatile(buffer, 0, MAGIC);
+        INTS.setVolatile(buffer, SLOTS_OFFSET, options.size());
+        INTS.setVolatile(buffer, STATE_OFFSET, SEEDING);
+        Map<String, Long> counts = seed.load();
+        // Qua lau nen worker khac da lay quyen seed: de worker do ghi
+        if ((long) LONGS.getVolatile(buffer, SEED_CLAIM_OFFSET) != claim) {
+            return;
+        }
+        for (int slot = 0; slot < options.size(); slot++) {
+            LONGS.setVolatile(buffer, offset(slot), counts.getOrDefault(options.get(slot), 0L));
+            LONGS.setVolatile(buffer, offset(slot) + LAST_DELTA_OFFSET, 0L);
+            LONGS.setVolatile(buffer, offset(slot) + STREAK_OFFSET, 0L);
+        }
+        INTS.setVolatile(buffer, STATE_OFFSET, READY);
+    }
+
+    private boolean isReady(Path file) throws IOException {
+        int magic = (int) INTS.getVolatile(buffer, 0);
+        if (magic != 0 && magic != MAGIC) {
+            throw new IOException("Not a shared tally file: " + file);
+        }
+        return magic == MAGIC && (int) INTS.getVolatile(buffer, STATE_OFFSET) == READY;
+    }
+
+    private void checkSlots(Path file) throws IOException {
+        int slots = (int) INTS.getVolatile(buffer, SLOTS_OFFSET);
+        if (slots != options.size()) {
+            throw new IOException("Shared tally " + file + " has " + slots + " options, expected "
+                    + options.size());
+        }
+    }
+
+    private long[] counts() {
+        long[] counts = new long[options.size()];
+        for (int slot = 0; slot < counts.length; slot++) {
+            counts[slot] = (long) LONGS.getVolatile(buffer, offset(slot));
+        }
+        return counts;
+    }
+
+    private static long size(List<String> options) {
+        return HEADER_SIZE + (long) SLOT_SIZE * options.size();
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    public interface Seed {
+        Map<String, Long> load() throws Exception;
+    }
+
+    static List<String> optionsFromEnv() {
+        String value = System.getenv("VOTE_OPTIONS") != null ? System.getenv("VOTE_OPTIONS") : "Cats,Dogs";
+        return Arrays.asList(value.split(","));
+    }
+
+    // java SharedTally /dev/shm/votes.tally : in so phieu hien tai ma khong can vao DB
+    public static void main(String[] args) throws Exception {
+        String path = args.length > 0 ? args[0] : System.getenv("SHARED_TALLY_PATH");
+        try (SharedTally tally = openReadOnly(Paths.get(path), optionsFromEnv())) {
+            tally.snapshot().forEach((option, count) -> System.out.println(option + ": " + count));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/** Vong xu ly chung: lay mot lo tu VoteSource, ghi vao VoteStore, roi moi commit nguon. */
+public class VoteProcessor {
+    private final VoteSource source;
+    private final VoteStore store;
+    private final int batchSize;
+    private final List<String> batch;
+
+    public VoteProcessor(VoteSource source, VoteStore store, int batchSize) {
+        this.source = source;
+        this.store = store;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /** Tra ve lo phieu vua ghi (rong neu het thoi gian cho); list duoc dung lai o lan goi sau. */
+    public List<String> processBatch(long timeoutMillis) throws Exception {
+        batch.clear();
+        if (source.poll(batch, batchSize, timeoutMillis) > 0) {
+            try {
+                store.store(batch);
+            } catch (Exception e) {
+                // Tra lo lai cho nguon de lan sau giao lai, roi moi bao loi
+                try {
+                    source.rollback();
+                } catch (Exception rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            }
+        }
+        // Commit ca khi lo rong: entry stream da bi xoa van phai duoc ack
+        source.commit();
+        return batch;
+    }
+}
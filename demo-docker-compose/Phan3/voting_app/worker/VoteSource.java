@@ -0,0 +1,35 @@
+import java.util.List;
+
+/**
+ * Nguon phieu bau cho Worker. Moi lan {@link #poll} lay ca mot lo phieu;
+ * sau khi lo do da duoc ghi vao DB, Worker goi {@link #commit()} de nguon
+ * nao can xac nhan (Redis Streams) co the ack; neu ghi that bai thi goi
+ * {@link #rollback()} de lo do duoc giao lai thay vi mat.
+ */
+public interface VoteSource extends AutoCloseable {
+
+    /** Them toi da {@code max} phieu vao {@code batch}, cho toi da {@code timeoutMillis} neu chua co phieu nao. */
+    int poll(List<String> batch, int max, long timeoutMillis) throws Exception;
+
+    default void commit() throws Exception {
+    }
+
+    default void rollback() throws Exception {
+    }
+
+    @Override
+    default void close() throws Exception {
+    }
+
+    static VoteSource fromEnv(String redisHost) {
+        String type = System.getenv("VOTE_SOURCE") != null ? System.getenv("VOTE_SOURCE") : "redis-list";
+        switch (type) {
+        case "redis-list":
+            return new RedisListVoteSource(redisHost, "votes");
+        case "redis-stream":
+            return new RedisStreamVoteSource(redisHost, "votes-stream", "workers");
+        default:
+            throw new IllegalArgumentException("Unknown VOTE_SOURCE: " + type);
+        }
+    }
+}
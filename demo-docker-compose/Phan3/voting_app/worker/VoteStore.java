@@ -0,0 +1,11 @@
+import java.util.List;
+
+/** Noi ghi cac lo phieu da lay tu VoteSource. */
+public interface VoteStore extends AutoCloseable {
+
+    void store(List<String> votes) throws Exception;
+
+    @Override
+    default void close() throws Exception {
+    }
+}
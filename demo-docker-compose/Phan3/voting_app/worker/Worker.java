@@ -1,31 +1,86 @@
-import redis.clients.jedis.Jedis;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.DriverManager;
-import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class Worker {
     public static void main(String[] args) {
         String redisHost = System.getenv("REDIS_HOST") != null ? System.getenv("REDIS_HOST") : "redis";
         String dbHost = System.getenv("DB_HOST") != null ? System.getenv("DB_HOST") : "db";
-        Jedis jedis = new Jedis(redisHost);
+        String tallyPath = System.getenv("SHARED_TALLY_PATH");
+        long reconcileInterval = System.getenv("RECONCILE_INTERVAL_MS") != null
+                ? Long.parseLong(System.getenv("RECONCILE_INTERVAL_MS")) : 30000;
+        // Chi mo endpoint /results khi duoc cau hinh cong
+        String resultsPort = System.getenv("RESULTS_PORT");
+        int batchSize = System.getenv("BATCH_SIZE") != null ? Integer.parseInt(System.getenv("BATCH_SIZE")) : 500;
 
         try (Connection conn = DriverManager.getConnection(
-                "jdbc:postgresql://" + dbHost + ":5432/votes", "postgres", "postgres")) {
-            conn.createStatement()
-                    .execute("CREATE TABLE IF NOT EXISTS votes (id SERIAL PRIMARY KEY, vote VARCHAR(50))");
+                "jdbc:postgresql://" + dbHost + ":5432/votes", "postgres", "postgres");
+                VoteSource source = VoteSource.fromEnv(redisHost);
+                VoteStore store = new JdbcVoteStore(conn);
+                SharedTally tally = tallyPath != null
+                        ? SharedTally.open(Paths.get(tallyPath), SharedTally.optionsFromEnv(), () -> loadCounts(conn))
+                        : null) {
+            VoteProcessor processor = new VoteProcessor(source, store, batchSize);
 
+            // Cache ket qua (va truy van doi chieu toan bang votes) chi can khi co endpoint /results
+            ResultsCache results = resultsPort != null ? new ResultsCache() : null;
+            if (results != null) {
+                new ResultsServer(results, Integer.parseInt(resultsPort)).start();
+            }
+
+            long lastReconcile = 0;
             while (true) {
-                String vote = jedis.rpop("votes");
-                if (vote != null) {
-                    PreparedStatement stmt = conn.prepareStatement("INSERT INTO votes (vote) VALUES (?)");
-                    stmt.setString(1, vote);
-                    stmt.executeUpdate();
-                    System.out.println("Processed vote: " + vote);
+                if (results != null && System.currentTimeMillis() - lastReconcile >= reconcileInterval) {
+                    reconcile(conn, results);
+                    lastReconcile = System.currentTimeMillis();
+                }
+                if (tally != null) {
+                    // Chi mot worker tren may doi chieu moi chu ky; cac worker khac tra ve ngay
+                    tally.reconcile(reconcileInterval, () -> loadCounts(conn)).forEach((option, delta) ->
+                            System.out.println("Corrected shared tally " + option + " by " + delta));
+                }
+                List<String> votes = processor.processBatch(1000);
+                if (tally != null) {
+                    for (String vote : votes) {
+                        tally.increment(vote);
+                    }
+                }
+                if (results != null) {
+                    results.record(votes);
+                    if (tally != null) {
+                        results.mergeAtLeast(tally.snapshot());
+                    }
+                }
+                if (!votes.isEmpty()) {
+                    System.out.println("Processed " + votes.size() + " votes");
                 }
-                Thread.sleep(1000);
             }
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
+
+    // Phieu do worker khac (may khac) ghi chi thay duoc qua DB, nen dinh ky dong bo lai
+    private static void reconcile(Connection conn, ResultsCache results) throws SQLException {
+        results.mergeAtLeast(loadCounts(conn));
+    }
+
+    private static Map<String, Long> loadCounts(Connection conn) throws SQLException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        try (ResultSet rs = conn.createStatement()
+                .executeQuery("SELECT vote, COUNT(*) AS count FROM votes GROUP BY vote")) {
+            while (rs.next()) {
+                counts.put(rs.getString("vote"), rs.getLong("count"));
+            }
+        }
+        if (!conn.getAutoCommit()) {
+            conn.commit();
+        }
+        return counts;
+    }
 }
\ No newline at end of file
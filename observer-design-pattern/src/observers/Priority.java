@@ -0,0 +1,5 @@
+package observers;
+
+public enum Priority {
+	CRITICAL, NORMAL, BULK
+}
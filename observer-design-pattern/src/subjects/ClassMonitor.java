@@ -1,34 +1,162 @@
 package subjects;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import observers.Observer;
+import observers.Priority;
 
 public class ClassMonitor implements Subject {
 	List<Observer> observers = new ArrayList<Observer>();
+	// CRITICAL: giao truoc tien ngay tren thread goi, deadline som nhat truoc; BULK: giao tren mot thread rieng
+	// (tuan tu, nen moi observer van chi bi goi update() lan luot, dung thu tu notification)
+	List<Registration> criticalObservers = new CopyOnWriteArrayList<Registration>();
+	List<Observer> bulkObservers = new CopyOnWriteArrayList<Observer>();
+	Map<Priority, DeliveryMetrics> metrics = new EnumMap<Priority, DeliveryMetrics>(Priority.class);
+
+	private ExecutorService bulkExecutor;
+
+	public ClassMonitor() {
+		for (Priority priority : Priority.values()) {
+			metrics.put(priority, new DeliveryMetrics());
+		}
+	}
 
 	@Override
 	public void attach(Observer observer) {
-		if (!observers.contains(observer)) {
+		attach(observer, Priority.NORMAL);
+	}
+
+	public synchronized void attach(Observer observer, Priority priority) {
+		if (isAttached(observer)) {
+			return;
+		}
+		switch (priority) {
+		case CRITICAL:
+			addCritical(new Registration(observer, Long.MAX_VALUE));
+			break;
+		case BULK:
+			bulkObservers.add(observer);
+			break;
+		default:
 			observers.add(observer);
+			break;
+		}
+	}
+
+	/** Observer CRITICAL phai nhan duoc update() trong {@code deadlineMillis} ke tu luc notification(). */
+	public synchronized void attach(Observer observer, long deadlineMillis) {
+		if (!isAttached(observer)) {
+			addCritical(new Registration(observer, TimeUnit.MILLISECONDS.toNanos(deadlineMillis)));
 		}
-		
 	}
 
 	@Override
-	public void detach(Observer observer) {
+	public synchronized void detach(Observer observer) {
 		if (observers.contains(observer)) {
 			observers.remove(observer);
 		}
-		
+		criticalObservers.removeIf(registration -> registration.observer == observer);
+		bulkObservers.remove(observer);
 	}
 
 	@Override
 	public void notification() {
-		for (Observer observer : observers) {
-            observer.update();
-		}		
+		long start = System.nanoTime();
+		List<Observer> normal;
+		synchronized (this) {
+			normal = new ArrayList<Observer>(observers);
+		}
+
+		// Giao cho CRITICAL xong roi moi bat dau fan-out NORMAL/BULK, de fan-out lon khong lam tre chung.
+		// Giao ngay tren thread goi: khong ton mot lan chuyen thread, va observer goi lai notification() khong bi ket
+		for (Registration registration : criticalObservers) {
+			deliver(registration.observer, Priority.CRITICAL, start, registration.deadlineNanos);
+		}
+
+		for (Observer observer : normal) {
+			deliver(observer, Priority.NORMAL, start, Long.MAX_VALUE);
+		}
+
+		List<Observer> bulk = new ArrayList<Observer>(bulkObservers);
+		if (!bulk.isEmpty()) {
+			bulkExecutor().execute(() -> {
+				for (Observer observer : bulk) {
+					try {
+						deliver(observer, Priority.BULK, start, Long.MAX_VALUE);
+					} catch (RuntimeException e) {
+						// Khong co ai nhan loi tren thread BULK: in ra va giao tiep cho cac observer con lai
+						e.printStackTrace();
+					}
+				}
+			});
+		}
+	}
+
+	public DeliveryMetrics getMetrics(Priority priority) {
+		return metrics.get(priority);
+	}
+
+	public synchronized void shutdown() {
+		if (bulkExecutor != null) {
+			bulkExecutor.shutdown();
+			bulkExecutor = null;
+		}
+	}
+
+	private void deliver(Observer observer, Priority priority, long start, long deadlineNanos) {
+		long latency = System.nanoTime() - start;
+		try {
+			observer.update();
+		} finally {
+			metrics.get(priority).record(latency, latency > deadlineNanos);
+		}
+	}
+
+	private boolean isAttached(Observer observer) {
+		if (observers.contains(observer) || bulkObservers.contains(observer)) {
+			return true;
+		}
+		for (Registration registration : criticalObservers) {
+			if (registration.observer == observer) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void addCritical(Registration registration) {
+		criticalObservers.add(registration);
+		criticalObservers.sort(Comparator.comparingLong(r -> r.deadlineNanos));
+	}
+
+	private synchronized ExecutorService bulkExecutor() {
+		if (bulkExecutor == null) {
+			bulkExecutor = Executors.newSingleThreadExecutor(task -> {
+				Thread thread = new Thread(task, "class-monitor-bulk");
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			});
+		}
+		return bulkExecutor;
+	}
+
+	static final class Registration {
+		final Observer observer;
+		final long deadlineNanos;
+
+		Registration(Observer observer, long deadlineNanos) {
+			this.observer = observer;
+			this.deadlineNanos = deadlineNanos;
+		}
 	}
 
 }
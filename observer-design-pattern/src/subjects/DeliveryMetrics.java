@@ -0,0 +1,44 @@
+package subjects;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Do tre tu luc goi notification() toi luc observer nhan duoc update(), theo tung Priority. */
+public class DeliveryMetrics {
+	private final LongAdder deliveries = new LongAdder();
+	private final LongAdder totalLatencyNanos = new LongAdder();
+	private final AtomicLong maxLatencyNanos = new AtomicLong();
+	private final LongAdder deadlineMisses = new LongAdder();
+
+	void record(long latencyNanos, boolean missedDeadline) {
+		deliveries.increment();
+		totalLatencyNanos.add(latencyNanos);
+		maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+		if (missedDeadline) {
+			deadlineMisses.increment();
+		}
+	}
+
+	public long getDeliveries() {
+		return deliveries.sum();
+	}
+
+	public double getAverageLatencyMicros() {
+		long count = deliveries.sum();
+		return count == 0 ? 0 : totalLatencyNanos.sum() / 1000.0 / count;
+	}
+
+	public double getMaxLatencyMicros() {
+		return maxLatencyNanos.get() / 1000.0;
+	}
+
+	public long getDeadlineMisses() {
+		return deadlineMisses.sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("deliveries=%d avg=%.1fus max=%.1fus deadlineMisses=%d", getDeliveries(),
+				getAverageLatencyMicros(), getMaxLatencyMicros(), getDeadlineMisses());
+	}
+}